@@ -0,0 +1,116 @@
+package com.bakerj.infinitecards;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * minimal JMH-style harness, a workload is warmed up and then measured by wall time and by the
+ * bytes allocated by the current thread, the results are reported per operation
+ *
+ * @author BakerJ
+ */
+class Benchmark {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * run the workload
+     *
+     * @param workload          workload
+     * @param warmupIterations  iterations run before measuring
+     * @param measureIterations iterations measured
+     * @return result
+     */
+    static Result run(Workload workload, int warmupIterations, int measureIterations) {
+        return run(workload, warmupIterations, measureIterations, 1)[0];
+    }
+
+    /**
+     * run the workload, measured in several rounds after a single warm up, so a one-off
+     * allocation of the JVM, such as materializing the objects eliminated by the JIT while
+     * deoptimizing, shows up in a single round only
+     *
+     * @param workload          workload
+     * @param warmupIterations  iterations run before measuring
+     * @param measureIterations iterations measured in each round
+     * @param rounds            rounds measured
+     * @return result of each round
+     */
+    static Result[] run(Workload workload, int warmupIterations, int measureIterations,
+                        int rounds) {
+        workload.setUp();
+        int iteration = 0;
+        for (; iteration < warmupIterations; iteration++) {
+            workload.runIteration(iteration);
+        }
+        //the first call of the counter may allocate for its lazy initialization
+        getAllocatedBytes();
+        Result[] results = new Result[rounds];
+        for (int round = 0; round < rounds; round++) {
+            long operations = 0;
+            long startBytes = getAllocatedBytes();
+            long startTime = System.nanoTime();
+            for (int i = 0; i < measureIterations; i++, iteration++) {
+                operations += workload.runIteration(iteration);
+            }
+            long time = System.nanoTime() - startTime;
+            long bytes = getAllocatedBytes() - startBytes;
+            results[round] = new Result(workload.getName(), operations, time, bytes);
+        }
+        workload.tearDown();
+        return results;
+    }
+
+    /**
+     * @return bytes allocated by the current thread, -1 if not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    interface Workload {
+        String getName();
+
+        void setUp();
+
+        /**
+         * run an iteration
+         *
+         * @param iteration index of the iteration
+         * @return operations run in the iteration
+         */
+        int runIteration(int iteration);
+
+        void tearDown();
+    }
+
+    static class Result {
+        final String name;
+        final long operations, timeNanos, allocatedBytes;
+
+        Result(String name, long operations, long timeNanos, long allocatedBytes) {
+            this.name = name;
+            this.operations = operations;
+            this.timeNanos = timeNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        double getNanosPerOperation() {
+            return operations == 0 ? 0 : (double) timeNanos / operations;
+        }
+
+        double getBytesPerOperation() {
+            return operations == 0 || allocatedBytes < 0 ? 0 : (double) allocatedBytes /
+                    operations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-36s %10d %14.0f %14.1f", name, operations,
+                    getNanosPerOperation(), getBytesPerOperation());
+        }
+    }
+}
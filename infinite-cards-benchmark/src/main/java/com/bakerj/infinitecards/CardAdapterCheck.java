@@ -0,0 +1,213 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.view.Choreographer;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+/**
+ * regression check of diffing an adapter with stable ids, the adapter changed again while the
+ * cards removed by the previous change are animating should be diffed again after the remove
+ * animation, without binding the cards with stale adapter indexes, and the card views should show
+ * the items of the adapter once idle, run by ./gradlew :infinite-cards-benchmark:checkAdapters
+ *
+ * @author BakerJ
+ */
+public class CardAdapterCheck {
+    private static final int CARD_COUNT = 8, MAX_CARD_COUNT = 12, RUNS = 200, OPERATIONS = 20;
+    private static final int MAX_FRAMES = 6, SEED = 20161017;
+    private static final int WIDTH = 1080, HEIGHT = 1920;
+    private static final long FRAME_NANOS = 16666667;
+    private static long sFrameTimeNanos;
+
+    public static void main(String[] args) {
+        int failures = 0;
+        failures += checkChangedWhileRemoving();
+        failures += checkRandomChanges();
+        if (failures > 0) {
+            System.out.println(failures + " adapter checks failed");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * remove an item, and add two items while the removed card is animating
+     */
+    private static int checkChangedWhileRemoving() {
+        StableAdapter adapter = new StableAdapter(CARD_COUNT);
+        String error = null;
+        try {
+            InfiniteCardView cardView = setUp(adapter);
+            adapter.remove(CARD_COUNT / 2);
+            adapter.notifyDataSetChanged();
+            runFrames(3);
+            adapter.add();
+            adapter.add();
+            adapter.notifyDataSetChanged();
+            runUntilIdle(cardView);
+            error = adapter.verify(cardView);
+        } catch (RuntimeException e) {
+            error = e.toString();
+        }
+        return report("changed while removing", error, 1);
+    }
+
+    /**
+     * add and remove items and bring cards to front at random, a random count of frames apart, so
+     * the changes land while the remove, add and bring to front animations are running
+     */
+    private static int checkRandomChanges() {
+        Random random = new Random(SEED);
+        String error = null;
+        for (int run = 0; run < RUNS && error == null; run++) {
+            StableAdapter adapter = new StableAdapter(1 + random.nextInt(MAX_CARD_COUNT));
+            try {
+                InfiniteCardView cardView = setUp(adapter);
+                for (int i = 0; i < OPERATIONS; i++) {
+                    int count = adapter.getCount();
+                    int operation = random.nextInt(3);
+                    if (operation == 0 && count > 1) {
+                        cardView.bringCardToFront(1 + random.nextInt(count - 1));
+                    } else if (count > 1 && (count >= MAX_CARD_COUNT || operation == 1)) {
+                        adapter.remove(random.nextInt(count));
+                        adapter.notifyDataSetChanged();
+                    } else {
+                        adapter.add();
+                        adapter.notifyDataSetChanged();
+                    }
+                    runFrames(random.nextInt(MAX_FRAMES));
+                }
+                runUntilIdle(cardView);
+                error = adapter.verify(cardView);
+            } catch (RuntimeException e) {
+                error = e.toString();
+            }
+            if (error != null) {
+                error = "run " + run + ": " + error;
+            }
+        }
+        return report("random changes", error, RUNS);
+    }
+
+    private static InfiniteCardView setUp(StableAdapter adapter) {
+        InfiniteCardView cardView = new InfiniteCardView(new Context());
+        cardView.onAttachedToWindow();
+        cardView.setAdapter(adapter);
+        cardView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        cardView.layout(0, 0, WIDTH, HEIGHT);
+        runUntilIdle(cardView);
+        return cardView;
+    }
+
+    private static void runFrames(int frames) {
+        Choreographer choreographer = Choreographer.getInstance();
+        for (int i = 0; i < frames; i++) {
+            sFrameTimeNanos += FRAME_NANOS;
+            choreographer.doFrame(sFrameTimeNanos);
+        }
+    }
+
+    private static void runUntilIdle(InfiniteCardView cardView) {
+        Choreographer choreographer = Choreographer.getInstance();
+        while (cardView.isAnimating() || choreographer.hasPending()) {
+            sFrameTimeNanos += FRAME_NANOS;
+            choreographer.doFrame(sFrameTimeNanos);
+        }
+    }
+
+    private static int report(String name, String error, int runs) {
+        System.out.println((error == null ? "PASS " : "FAIL ") + name + ": " +
+                (error == null ? runs + " runs" : error));
+        return error == null ? 0 : 1;
+    }
+
+    /**
+     * adapter with stable ids, failing on the positions out of the items, and remembering the
+     * item each view is bound with
+     */
+    private static class StableAdapter extends BaseAdapter {
+        private final ArrayList<Long> mIds = new ArrayList<>();
+        private final IdentityHashMap<View, Long> mBoundIds = new IdentityHashMap<>();
+        private long mNextId;
+
+        StableAdapter(int count) {
+            for (int i = 0; i < count; i++) {
+                add();
+            }
+        }
+
+        void add() {
+            mIds.add(mNextId++);
+        }
+
+        void remove(int position) {
+            mIds.remove(position);
+        }
+
+        /**
+         * all cards are bound, so the card views should show each item once
+         *
+         * @return error, null if the card views show the items
+         */
+        String verify(InfiniteCardView cardView) {
+            HashSet<Long> shown = new HashSet<>();
+            for (int i = 0; i < cardView.getChildCount(); i++) {
+                shown.add(mBoundIds.get(cardView.getChildAt(i)));
+            }
+            if (cardView.getChildCount() != mIds.size() || !shown.equals(new HashSet<>(mIds))) {
+                return "card views show " + shown + ", items are " + mIds;
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasStableIds() {
+            return true;
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            checkPosition(position);
+            return 0;
+        }
+
+        @Override
+        public int getCount() {
+            return mIds.size();
+        }
+
+        @Override
+        public Object getItem(int position) {
+            checkPosition(position);
+            return mIds.get(position);
+        }
+
+        @Override
+        public long getItemId(int position) {
+            checkPosition(position);
+            return mIds.get(position);
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            checkPosition(position);
+            View view = convertView == null ? new View(parent.getContext()) : convertView;
+            mBoundIds.put(view, mIds.get(position));
+            return view;
+        }
+
+        private void checkPosition(int position) {
+            if (position < 0 || position >= mIds.size()) {
+                throw new IndexOutOfBoundsException("adapter position: " + position +
+                        ", count: " + mIds.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.bakerj.infinitecards;
+
+/**
+ * allocation regression check of the steady-state cycle of bringCardToFront to the animation
+ * end, every frame workload should allocate nothing once warmed up, in every round measured up to
+ * a small slack for the one-off allocations of the JVM, run by
+ * ./gradlew :infinite-cards-benchmark:checkAllocations
+ *
+ * @author BakerJ
+ */
+public class CardAllocationCheck {
+    private static final int[] CARD_COUNTS = {5, 50, 500};
+    //visible card count and shape depth, binding all cards, a window with the cards bound and
+    // unbound while animating, and a window with the deep cards drawn by shapes
+    private static final int[][] WINDOWS = {{0, 0}, {4, 0}, {8, 3}};
+    private static final int[] ANIM_TYPES = {InfiniteCardView.ANIM_TYPE_FRONT,
+            InfiniteCardView.ANIM_TYPE_SWITCH, InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST};
+    //warmed up until the pools and buffers reach their steady sizes and the JIT settles
+    private static final int WARMUP_ITERATIONS = 1500, MEASURE_ITERATIONS = 20, ROUNDS = 5;
+    //bytes a round may allocate for a one-off of the JVM, such as materializing the objects
+    // eliminated by the JIT while deoptimizing, fewer than one object per animation measured
+    private static final long SLACK_BYTES = 256;
+
+    public static void main(String[] args) {
+        int failures = 0;
+        for (int animType : ANIM_TYPES) {
+            for (int cardCount : CARD_COUNTS) {
+                for (int[] window : WINDOWS) {
+                    Benchmark.Result[] results = Benchmark.run(
+                            new CardFrameWorkload(cardCount, animType, window[0], window[1]),
+                            WARMUP_ITERATIONS, MEASURE_ITERATIONS, ROUNDS);
+                    if (results[0].allocatedBytes < 0) {
+                        System.out.println("allocation counting is not supported by the JVM");
+                        return;
+                    }
+                    //every round should allocate nothing beyond the slack, not only the
+                    // cleanest one
+                    long allocatedBytes = 0, maxRoundBytes = 0, operations = 0;
+                    for (Benchmark.Result result : results) {
+                        allocatedBytes += result.allocatedBytes;
+                        maxRoundBytes = Math.max(maxRoundBytes, result.allocatedBytes);
+                        operations += result.operations;
+                    }
+                    boolean passed = maxRoundBytes <= SLACK_BYTES;
+                    if (!passed) {
+                        failures++;
+                    }
+                    System.out.println((passed ? "PASS " : "FAIL ") + results[0].name + ": " +
+                            allocatedBytes + " bytes in " + operations + " frames, at most " +
+                            maxRoundBytes + " bytes in a round of " + ROUNDS);
+                }
+            }
+        }
+        if (failures > 0) {
+            System.out.println(failures + " workloads allocated in steady state");
+            System.exit(1);
+        }
+    }
+}
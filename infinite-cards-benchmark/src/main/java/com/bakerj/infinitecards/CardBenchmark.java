@@ -0,0 +1,63 @@
+package com.bakerj.infinitecards;
+
+import com.bakerj.infinitecards.transformer.DefaultCommonTransformer;
+import com.bakerj.infinitecards.transformer.DefaultTransformerAdd;
+import com.bakerj.infinitecards.transformer.DefaultTransformerRemove;
+import com.bakerj.infinitecards.transformer.DefaultTransformerToBack;
+import com.bakerj.infinitecards.transformer.DefaultTransformerToFront;
+import com.bakerj.infinitecards.transformer.DefaultZIndexTransformerCommon;
+import com.bakerj.infinitecards.transformer.DefaultZIndexTransformerToFront;
+
+/**
+ * benchmark of the per-frame work of the cards on a plain JVM, run by
+ * ./gradlew :infinite-cards-benchmark:run
+ *
+ * @author BakerJ
+ */
+public class CardBenchmark {
+    private static final int[] CARD_COUNTS = {5, 50, 500};
+    private static final int[] ANIM_TYPES = {InfiniteCardView.ANIM_TYPE_FRONT,
+            InfiniteCardView.ANIM_TYPE_SWITCH, InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST};
+    private static final int VISIBLE_CARD_COUNT = 4;
+    //window of the deep cards drawn by shapes
+    private static final int SHAPE_VISIBLE_CARD_COUNT = 8, SHAPE_DEPTH = 3;
+    private static final int WARMUP_ITERATIONS = 200, MEASURE_ITERATIONS = 200;
+
+    public static void main(String[] args) {
+        System.out.println(String.format("%-36s %10s %14s %14s", "benchmark", "ops", "ns/op",
+                "bytes/op"));
+        for (int animType : ANIM_TYPES) {
+            for (int cardCount : CARD_COUNTS) {
+                report(new CardFrameWorkload(cardCount, animType), cardCount);
+            }
+            //cards bound and unbound while moving through the window
+            for (int cardCount : CARD_COUNTS) {
+                report(new CardFrameWorkload(cardCount, animType, VISIBLE_CARD_COUNT), 5);
+            }
+            //cards behind the shape depth drawn by shapes instead of views
+            for (int cardCount : CARD_COUNTS) {
+                report(new CardFrameWorkload(cardCount, animType, SHAPE_VISIBLE_CARD_COUNT,
+                        SHAPE_DEPTH), 5);
+            }
+        }
+        for (int cardCount : CARD_COUNTS) {
+            report(new ZIndexOrderWorkload(cardCount), cardCount);
+        }
+        report(new TransformerWorkload(new DefaultTransformerToFront(), 3, 0), 1);
+        report(new TransformerWorkload(new DefaultTransformerToBack(), 0, 3), 1);
+        report(new TransformerWorkload(new DefaultCommonTransformer(), 1, 2), 1);
+        report(new TransformerWorkload(new DefaultTransformerAdd(), 1, 1), 1);
+        report(new TransformerWorkload(new DefaultTransformerRemove(), 1, 1), 1);
+        report(new TransformerWorkload(new DefaultZIndexTransformerToFront(), 3, 0), 1);
+        report(new TransformerWorkload(new DefaultZIndexTransformerCommon(), 1, 2), 1);
+    }
+
+    /**
+     * run and print a workload, the iterations are reduced for the bigger decks
+     */
+    private static void report(Benchmark.Workload workload, int cardCount) {
+        int scale = Math.max(1, cardCount / 50);
+        System.out.println(Benchmark.run(workload, WARMUP_ITERATIONS / scale,
+                MEASURE_ITERATIONS / scale));
+    }
+}
@@ -0,0 +1,189 @@
+package com.bakerj.infinitecards;
+
+import java.util.LinkedList;
+import java.util.Random;
+
+/**
+ * regression check of the card deck, the order after each animation type should be the order the
+ * former LinkedList got, over every deck size and position, and over long random runs wrapping
+ * the circular head around the array many times, with cards added and removed in between, run by
+ * ./gradlew :infinite-cards-benchmark:checkDeck
+ *
+ * @author BakerJ
+ */
+public class CardDeckCheck {
+    private static final int MAX_SIZE = 12, STEPS = 100000, SEED = 20161017;
+    private static final String[] ANIM_TYPE_NAMES = {"ANIM_TYPE_FRONT", "ANIM_TYPE_SWITCH",
+            "ANIM_TYPE_FRONT_TO_LAST"};
+
+    public static void main(String[] args) {
+        int failures = 0;
+        for (int animType = InfiniteCardView.ANIM_TYPE_FRONT;
+             animType <= InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST; animType++) {
+            failures += checkPositions(animType);
+            failures += checkWrapAround(animType);
+        }
+        failures += checkMixed();
+        if (failures > 0) {
+            System.out.println(failures + " deck checks failed");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * reorder decks of every size from every head index by every position once
+     */
+    private static int checkPositions(int animType) {
+        int mismatches = 0, runs = 0;
+        for (int size = 2; size <= MAX_SIZE; size++) {
+            for (int head = 0; head < size; head++) {
+                for (int position = 1; position < size; position++) {
+                    CardDeck deck = new CardDeck(size);
+                    LinkedList<CardItem> expected = new LinkedList<>();
+                    fill(deck, expected, size);
+                    //move the head to the index by rotating both
+                    for (int i = 0; i < head; i++) {
+                        deck.rotate();
+                        expected.addLast(expected.removeFirst());
+                    }
+                    reorder(deck, animType, position);
+                    reorder(expected, animType, position);
+                    if (!matches(deck, expected)) {
+                        mismatches++;
+                    }
+                    runs++;
+                }
+            }
+        }
+        return report(ANIM_TYPE_NAMES[animType] + " positions", mismatches, runs, "reorders");
+    }
+
+    /**
+     * reorder a full deck by random positions many times, so the head wraps around the array
+     */
+    private static int checkWrapAround(int animType) {
+        Random random = new Random(SEED + animType);
+        CardDeck deck = new CardDeck(MAX_SIZE);
+        LinkedList<CardItem> expected = new LinkedList<>();
+        fill(deck, expected, MAX_SIZE);
+        int mismatches = 0;
+        for (int i = 0; i < STEPS; i++) {
+            int position = 1 + random.nextInt(MAX_SIZE - 1);
+            reorder(deck, animType, position);
+            reorder(expected, animType, position);
+            if (!matches(deck, expected)) {
+                mismatches++;
+            }
+        }
+        return report(ANIM_TYPE_NAMES[animType] + " wrap-around", mismatches, STEPS,
+                "reorders");
+    }
+
+    /**
+     * mix the reorders of every animation type with adding, removing and rotating, so the deck
+     * wraps around, grows and shrinks
+     */
+    private static int checkMixed() {
+        Random random = new Random(SEED);
+        CardDeck deck = new CardDeck(2);
+        LinkedList<CardItem> expected = new LinkedList<>();
+        int mismatches = 0, adapterIndex = 0;
+        for (int i = 0; i < STEPS; i++) {
+            int size = expected.size();
+            int operation = random.nextInt(6);
+            if (size < 2 || operation == 0 && size < MAX_SIZE * 2) {
+                CardItem card = new CardItem(null, 0, adapterIndex++);
+                if (random.nextBoolean()) {
+                    deck.addFirst(card);
+                    expected.addFirst(card);
+                } else {
+                    deck.addLast(card);
+                    expected.addLast(card);
+                }
+            } else if (operation == 1) {
+                int position = random.nextInt(size);
+                if (deck.remove(position) != expected.remove(position)) {
+                    mismatches++;
+                }
+            } else if (operation == 2) {
+                deck.rotate();
+                expected.addLast(expected.removeFirst());
+            } else {
+                int position = 1 + random.nextInt(size - 1);
+                reorder(deck, operation - 3, position);
+                reorder(expected, operation - 3, position);
+            }
+            if (!matches(deck, expected)) {
+                mismatches++;
+            }
+        }
+        return report("mixed", mismatches, STEPS, "operations");
+    }
+
+    private static void fill(CardDeck deck, LinkedList<CardItem> expected, int size) {
+        for (int i = 0; i < size; i++) {
+            CardItem card = new CardItem(null, 0, i);
+            deck.addLast(card);
+            expected.addLast(card);
+        }
+    }
+
+    /**
+     * reorder the deck as the animation helper does after the animation ends
+     */
+    private static void reorder(CardDeck deck, int animType, int position) {
+        if (animType == InfiniteCardView.ANIM_TYPE_FRONT) {
+            deck.moveToFront(position);
+        } else if (animType == InfiniteCardView.ANIM_TYPE_SWITCH) {
+            deck.switchWithFirst(position);
+        } else {
+            deck.moveFirstToLast(position);
+        }
+    }
+
+    /**
+     * reorder the list as the animation helper did with the LinkedList
+     */
+    private static void reorder(LinkedList<CardItem> cards, int animType, int position) {
+        CardItem cardToBack = cards.getFirst();
+        CardItem cardToFront = cards.get(position);
+        if (animType == InfiniteCardView.ANIM_TYPE_FRONT) {
+            cards.remove(position);
+            cards.addFirst(cardToFront);
+        } else if (animType == InfiniteCardView.ANIM_TYPE_SWITCH) {
+            cards.remove(position);
+            cards.removeFirst();
+            cards.addFirst(cardToFront);
+            cards.add(position, cardToBack);
+        } else {
+            cards.remove(position);
+            cards.removeFirst();
+            cards.addFirst(cardToFront);
+            cards.addLast(cardToBack);
+        }
+    }
+
+    /**
+     * the cards should be in the same positions, and each card should find its position
+     */
+    private static boolean matches(CardDeck deck, LinkedList<CardItem> expected) {
+        if (deck.size() != expected.size()) {
+            return false;
+        }
+        int position = 0;
+        for (CardItem card : expected) {
+            if (deck.get(position) != card || deck.indexOf(card) != position) {
+                return false;
+            }
+            position++;
+        }
+        return deck.size() == 0 || deck.getFirst() == expected.getFirst() &&
+                deck.getLast() == expected.getLast();
+    }
+
+    private static int report(String name, int mismatches, int runs, String unit) {
+        System.out.println((mismatches == 0 ? "PASS " : "FAIL ") + name + ": " + mismatches +
+                " mismatches in " + runs + " " + unit);
+        return mismatches == 0 ? 0 : 1;
+    }
+}
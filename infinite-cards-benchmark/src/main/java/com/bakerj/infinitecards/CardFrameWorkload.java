@@ -0,0 +1,226 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+
+/**
+ * workload bringing cards to front in an InfiniteCardView, the frames are pumped through the
+ * Choreographer stub with a simulated vsync, an operation is a frame, which covers the
+ * transformers of all cards moving, the Z index ordering, the layout pass if requested, and the
+ * shapes drawn by the container, the animation metrics are recorded, and the cards coming next
+ * are prefetched as well
+ *
+ * @author BakerJ
+ */
+class CardFrameWorkload implements Benchmark.Workload, AnimationMetricsListener,
+        CardPrefetcher {
+    private static final long FRAME_NANOS = 16666667;
+    private static final int WIDTH = 1080, HEIGHT = 1920, PREFETCH_COUNT = 3;
+    private final int mCardCount, mAnimType, mVisibleCardCount, mShapeDepth;
+    private final Context mContext = new Context();
+    private final Canvas mCanvas = new Canvas();
+    private final Choreographer mChoreographer = Choreographer.getInstance();
+    private InfiniteCardView mCardView;
+    private long mFrameTimeNanos;
+    //layout passes run by the frames
+    private int mLayoutCount;
+    //frames and layout passes reported by the animation metrics
+    private int mMetricsFrameCount, mMetricsLayoutCount;
+    //cards prefetched
+    private int mPrefetchCount;
+
+    CardFrameWorkload(int cardCount, int animType) {
+        this(cardCount, animType, 0);
+    }
+
+    /**
+     * @param cardCount        card count
+     * @param animType         animation type
+     * @param visibleCardCount visible card count, 0 for binding all cards
+     */
+    CardFrameWorkload(int cardCount, int animType, int visibleCardCount) {
+        this(cardCount, animType, visibleCardCount, 0);
+    }
+
+    /**
+     * @param cardCount        card count
+     * @param animType         animation type
+     * @param visibleCardCount visible card count, 0 for binding all cards
+     * @param shapeDepth       position of the first card drawn by a shape, 0 for no shape
+     */
+    CardFrameWorkload(int cardCount, int animType, int visibleCardCount, int shapeDepth) {
+        this.mCardCount = cardCount;
+        this.mAnimType = animType;
+        this.mVisibleCardCount = visibleCardCount;
+        this.mShapeDepth = shapeDepth;
+    }
+
+    @Override
+    public String getName() {
+        return "frame " + getAnimTypeName(mAnimType) + " x" + mCardCount +
+                (mVisibleCardCount > 0 ? " visible " + mVisibleCardCount : "") +
+                (mShapeDepth > 0 ? " shapes " + mShapeDepth : "");
+    }
+
+    @Override
+    public void setUp() {
+        mCardView = new InfiniteCardView(mContext);
+        mCardView.setAnimType(mAnimType);
+        mCardView.setAnimationMetricsListener(this);
+        mCardView.setCardPrefetcher(this, PREFETCH_COUNT);
+        mCardView.setVisibleCardCount(mVisibleCardCount);
+        mCardView.setShapeDepth(mShapeDepth);
+        mCardView.setAdapter(new CardAdapter(mCardCount));
+        doLayout();
+        //let the add animation finish
+        runUntilIdle();
+        mLayoutCount = 0;
+        mMetricsFrameCount = 0;
+        mMetricsLayoutCount = 0;
+        mPrefetchCount = 0;
+    }
+
+    @Override
+    public int runIteration(int iteration) {
+        //cycle the positions, so the cards moving differ in each iteration
+        int position = 1 + (iteration * 7) % (mCardCount - 1);
+        mCardView.bringCardToFront(position);
+        return runUntilIdle();
+    }
+
+    @Override
+    public void tearDown() {
+        mCardView = null;
+    }
+
+    @Override
+    public void onAnimationMetrics(AnimationMetrics metrics) {
+        mMetricsFrameCount += metrics.getFrameCount();
+        mMetricsLayoutCount += metrics.getLayoutCount();
+    }
+
+    @Override
+    public void onPrefetch(int adapterIndex) {
+        mPrefetchCount++;
+    }
+
+    /**
+     * swipe the card in the second position by the fraction of the card width and release it,
+     * the velocity of the stub is 0, so the card settles back below half of the width
+     *
+     * @param fraction swiping distance in fraction of the card width
+     * @return frame count
+     */
+    int swipe(float fraction) {
+        mCardView.setSwipeEnabled(true);
+        float y = HEIGHT / 2, x = WIDTH / 4;
+        //the touch slop is skipped by the first move
+        float slop = ViewConfiguration.get(mContext).getScaledTouchSlop() + 1;
+        mCardView.onInterceptTouchEvent(MotionEvent.obtain(MotionEvent.ACTION_DOWN, x, y));
+        mCardView.onTouchEvent(MotionEvent.obtain(MotionEvent.ACTION_MOVE, x + slop, y));
+        mCardView.onTouchEvent(MotionEvent.obtain(MotionEvent.ACTION_MOVE,
+                x + slop + fraction * mCardView.getWidth(), y));
+        mCardView.onTouchEvent(MotionEvent.obtain(MotionEvent.ACTION_UP,
+                x + slop + fraction * mCardView.getWidth(), y));
+        return runUntilIdle();
+    }
+
+    int getLayoutCount() {
+        return mLayoutCount;
+    }
+
+    int getMetricsFrameCount() {
+        return mMetricsFrameCount;
+    }
+
+    int getMetricsLayoutCount() {
+        return mMetricsLayoutCount;
+    }
+
+    InfiniteCardView getCardView() {
+        return mCardView;
+    }
+
+    int getChildCount() {
+        return mCardView.getChildCount();
+    }
+
+    int getShapeCount() {
+        return mCanvas.getShapeCount();
+    }
+
+    int getPrefetchCount() {
+        return mPrefetchCount;
+    }
+
+    /**
+     * pump the frames until the animations end
+     *
+     * @return frame count
+     */
+    private int runUntilIdle() {
+        int frames = 0;
+        while (mCardView.isAnimating() || mChoreographer.hasPending()) {
+            mFrameTimeNanos += FRAME_NANOS;
+            mChoreographer.doFrame(mFrameTimeNanos);
+            if (mCardView.isLayoutRequested()) {
+                doLayout();
+            }
+            mCardView.draw(mCanvas);
+            frames++;
+        }
+        return frames;
+    }
+
+    private void doLayout() {
+        mCardView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mCardView.layout(0, 0, WIDTH, HEIGHT);
+        mLayoutCount++;
+    }
+
+    static String getAnimTypeName(int animType) {
+        switch (animType) {
+            case InfiniteCardView.ANIM_TYPE_SWITCH:
+                return "SWITCH";
+            case InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST:
+                return "FRONT_TO_LAST";
+            default:
+                return "FRONT";
+        }
+    }
+
+    private class CardAdapter extends BaseAdapter {
+        private final int mCount;
+
+        CardAdapter(int count) {
+            this.mCount = count;
+        }
+
+        @Override
+        public int getCount() {
+            return mCount;
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return null;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return position;
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            return convertView != null ? convertView : new View(mContext);
+        }
+    }
+}
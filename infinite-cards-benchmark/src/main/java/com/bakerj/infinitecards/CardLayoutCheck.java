@@ -0,0 +1,49 @@
+package com.bakerj.infinitecards;
+
+import android.os.Build;
+
+/**
+ * layout regression check of the full animations with all cards bound, the z order changes
+ * should be applied to the drawing order and the child order without requesting layout, so no
+ * layout pass runs, checked as the latest API level and as KitKat, where the child order is
+ * synced at the animation end, run by ./gradlew :infinite-cards-benchmark:checkLayouts
+ *
+ * @author BakerJ
+ */
+public class CardLayoutCheck {
+    private static final int[] CARD_COUNTS = {5, 50, 500};
+    private static final int[] SDK_INTS = {Build.VERSION_CODES.N_MR1, Build.VERSION_CODES.KITKAT};
+    private static final int[] ANIM_TYPES = {InfiniteCardView.ANIM_TYPE_SWITCH,
+            InfiniteCardView.ANIM_TYPE_FRONT, InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST};
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        int failures = 0;
+        for (int sdkInt : SDK_INTS) {
+            Build.VERSION.SDK_INT = sdkInt;
+            for (int animType : ANIM_TYPES) {
+                for (int cardCount : CARD_COUNTS) {
+                    CardFrameWorkload workload = new CardFrameWorkload(cardCount, animType);
+                    workload.setUp();
+                    int frames = 0;
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        frames += workload.runIteration(i);
+                    }
+                    workload.tearDown();
+                    boolean passed = workload.getLayoutCount() == 0 &&
+                            workload.getMetricsLayoutCount() == 0;
+                    if (!passed) {
+                        failures++;
+                    }
+                    System.out.println((passed ? "PASS " : "FAIL ") + workload.getName() +
+                            " API " + sdkInt + ": " + workload.getLayoutCount() +
+                            " layout passes in " + frames + " frames");
+                }
+            }
+        }
+        if (failures > 0) {
+            System.out.println(failures + " workloads requested layout while animating");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.database.DataSetObserver;
+import android.view.Choreographer;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+
+/**
+ * observer regression check of swapping adapters, exactly one observer should be registered to
+ * the adapter set, also while detached, and none to the adapters swapped out, a burst of
+ * notifications in one frame should rebind the cards once, and attaching again should rebind the
+ * cards only if the adapter is notified while detached, run by
+ * ./gradlew :infinite-cards-benchmark:checkObservers
+ *
+ * @author BakerJ
+ */
+public class CardObserverCheck {
+    private static final int SWAPS = 1000, CARD_COUNT = 5, BURST = 10;
+    private static final int WIDTH = 1080, HEIGHT = 1920;
+    private static final long FRAME_NANOS = 16666667;
+    private static long sFrameTimeNanos;
+
+    public static void main(String[] args) {
+        CountingAdapter adapter1 = new CountingAdapter(), adapter2 = new CountingAdapter();
+        InfiniteCardView cardView = new InfiniteCardView(new Context());
+        cardView.onAttachedToWindow();
+        int failures = 0;
+        for (int i = 0; i < SWAPS; i++) {
+            CountingAdapter adapter = i % 2 == 0 ? adapter1 : adapter2;
+            cardView.setAdapter(adapter);
+            if (adapter.mObserverCount != 1 || adapter1.mObserverCount +
+                    adapter2.mObserverCount != 1) {
+                failures++;
+            }
+        }
+        failures += check("after " + SWAPS + " swaps", adapter1, adapter2, 1);
+        cardView.onDetachedFromWindow();
+        failures += check("detached", adapter1, adapter2, 1);
+        cardView.onAttachedToWindow();
+        failures += check("attached again", adapter1, adapter2, 1);
+        failures += checkBurst(cardView, adapter1, adapter2);
+        failures += checkReattach(cardView, adapter1, adapter2);
+        if (failures > 0) {
+            System.out.println(failures + " checks failed");
+            System.exit(1);
+        }
+    }
+
+    private static int check(String name, CountingAdapter adapter1, CountingAdapter adapter2,
+                             int expected) {
+        int count = adapter1.mObserverCount + adapter2.mObserverCount;
+        boolean passed = count == expected;
+        System.out.println((passed ? "PASS " : "FAIL ") + name + ": " + count + " observers");
+        return passed ? 0 : 1;
+    }
+
+    /**
+     * the binds of a burst of notifications in one frame should be the binds of one notification
+     */
+    private static int checkBurst(InfiniteCardView cardView, CountingAdapter adapter1,
+                                  CountingAdapter adapter2) {
+        CountingAdapter adapter = adapter1.mObserverCount == 1 ? adapter1 : adapter2;
+        cardView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        cardView.layout(0, 0, WIDTH, HEIGHT);
+        runUntilIdle(cardView);
+        adapter.mBindCount = 0;
+        adapter.notifyDataSetChanged();
+        runUntilIdle(cardView);
+        int expected = adapter.mBindCount;
+        adapter.mBindCount = 0;
+        for (int i = 0; i < BURST; i++) {
+            adapter.notifyDataSetChanged();
+        }
+        int synchronous = adapter.mBindCount;
+        runUntilIdle(cardView);
+        boolean passed = expected > 0 && synchronous == 0 && adapter.mBindCount == expected;
+        System.out.println((passed ? "PASS " : "FAIL ") + BURST + " notifications: " +
+                adapter.mBindCount + " binds, " + expected + " binds of one notification");
+        return passed ? 0 : 1;
+    }
+
+    /**
+     * attaching again should not rebind the cards unless the adapter is notified while detached,
+     * then the cards should be rebound once after attaching
+     */
+    private static int checkReattach(InfiniteCardView cardView, CountingAdapter adapter1,
+                                     CountingAdapter adapter2) {
+        CountingAdapter adapter = adapter1.mObserverCount == 1 ? adapter1 : adapter2;
+        adapter.mBindCount = 0;
+        adapter.notifyDataSetChanged();
+        runUntilIdle(cardView);
+        int expected = adapter.mBindCount;
+        adapter.mBindCount = 0;
+        cardView.onDetachedFromWindow();
+        cardView.onAttachedToWindow();
+        runUntilIdle(cardView);
+        int unchanged = adapter.mBindCount;
+        cardView.onDetachedFromWindow();
+        for (int i = 0; i < BURST; i++) {
+            adapter.notifyDataSetChanged();
+        }
+        int detached = adapter.mBindCount;
+        cardView.onAttachedToWindow();
+        runUntilIdle(cardView);
+        int changed = adapter.mBindCount - detached;
+        boolean passed = expected > 0 && unchanged == 0 && detached == 0 && changed == expected;
+        System.out.println((passed ? "PASS " : "FAIL ") + "reattached: " + unchanged +
+                " binds unchanged, " + changed + " binds notified while detached, " + expected +
+                " binds of one notification");
+        return passed ? 0 : 1;
+    }
+
+    private static void runUntilIdle(InfiniteCardView cardView) {
+        Choreographer choreographer = Choreographer.getInstance();
+        while (cardView.isAnimating() || choreographer.hasPending()) {
+            sFrameTimeNanos += FRAME_NANOS;
+            choreographer.doFrame(sFrameTimeNanos);
+        }
+    }
+
+    private static class CountingAdapter extends BaseAdapter {
+        private int mObserverCount, mBindCount;
+
+        @Override
+        public void registerDataSetObserver(DataSetObserver observer) {
+            super.registerDataSetObserver(observer);
+            mObserverCount++;
+        }
+
+        @Override
+        public void unregisterDataSetObserver(DataSetObserver observer) {
+            super.unregisterDataSetObserver(observer);
+            mObserverCount--;
+        }
+
+        @Override
+        public int getCount() {
+            return CARD_COUNT;
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return position;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return position;
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            mBindCount++;
+            return convertView == null ? new View(parent.getContext()) : convertView;
+        }
+    }
+}
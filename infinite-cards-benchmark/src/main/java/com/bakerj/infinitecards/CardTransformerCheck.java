@@ -0,0 +1,309 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.view.View;
+
+import com.bakerj.infinitecards.transformer.DefaultCommonTransformer;
+import com.bakerj.infinitecards.transformer.DefaultTransformerAdd;
+import com.bakerj.infinitecards.transformer.DefaultTransformerRemove;
+import com.bakerj.infinitecards.transformer.DefaultTransformerToBack;
+import com.bakerj.infinitecards.transformer.DefaultTransformerToFront;
+import com.nineoldandroids.view.ViewHelper;
+
+/**
+ * regression check of the card transformers, the CardTransform written by each default
+ * transformer, and the view written through its AnimationTransformer methods, should match the
+ * views written by the former view transformers, and the AnimationTransformers set to the card
+ * view, including subclasses of the defaults overriding the view methods, should be called with
+ * the card views, and the cards swiped and settled back should be laid out at rest, run by
+ * ./gradlew :infinite-cards-benchmark:checkTransformers
+ *
+ * @author BakerJ
+ */
+public class CardTransformerCheck {
+    private static final int CARD_WIDTH = 1080, CARD_HEIGHT = 540, POSITIONS = 6, FRACTIONS = 20;
+    private static final float TOLERANCE = 0.0001f;
+    private static final int ITERATIONS = 10, CARD_COUNT = 10;
+    //swiped less than half of the card width, so the card settles back
+    private static final float SETTLE_BACK_FRACTION = 0.2f;
+
+    public static void main(String[] args) {
+        int failures = 0;
+        failures += checkTransformer(new DefaultTransformerToFront(), new ViewTransformerToFront());
+        failures += checkTransformer(new DefaultTransformerToBack(), new ViewTransformerCommon());
+        failures += checkTransformer(new DefaultCommonTransformer(), new ViewTransformerCommon());
+        failures += checkTransformer(new DefaultTransformerAdd(), new ViewTransformerAdd());
+        failures += checkTransformer(new DefaultTransformerRemove(), new ViewTransformerRemove());
+        for (int animType = InfiniteCardView.ANIM_TYPE_FRONT;
+             animType <= InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST; animType++) {
+            failures += checkCardView(animType);
+            failures += checkSettleBack(animType);
+        }
+        if (failures > 0) {
+            System.out.println(failures + " transformer checks failed");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * compare the transformer with the former view transformer over the positions and fractions
+     */
+    private static int checkTransformer(CardTransformer transformer,
+                                        AnimationTransformer viewTransformer) {
+        CardTransform transform = new CardTransform();
+        CardTransform expected = new CardTransform();
+        int mismatches = 0;
+        for (int from = 0; from < POSITIONS; from++) {
+            for (int to = 0; to < POSITIONS; to++) {
+                for (int i = 0; i <= FRACTIONS; i++) {
+                    float fraction = (float) i / FRACTIONS;
+                    View expectedView = new View(new Context());
+                    viewTransformer.transformAnimation(expectedView, fraction, CARD_WIDTH,
+                            CARD_HEIGHT, from, to);
+                    expected.read(expectedView);
+                    transform.reset();
+                    transformer.transformAnimation(transform, fraction, CARD_WIDTH, CARD_HEIGHT,
+                            from, to);
+                    View view = new View(new Context());
+                    transformer.transformAnimation(view, fraction, CARD_WIDTH, CARD_HEIGHT, from,
+                            to);
+                    if (!matches(transform, expected) || !matches(view, expectedView)) {
+                        mismatches++;
+                    }
+                }
+            }
+        }
+        System.out.println((mismatches == 0 ? "PASS " : "FAIL ") +
+                transformer.getClass().getSimpleName() + ": " + mismatches + " mismatches in " +
+                POSITIONS * POSITIONS * (FRACTIONS + 1) + " transforms");
+        return mismatches == 0 ? 0 : 1;
+    }
+
+    /**
+     * run the animations with view transformers set, the views should be the card views, and
+     * should end as with the default transformers
+     */
+    private static int checkCardView(int animType) {
+        CardFrameWorkload expected = new CardFrameWorkload(CARD_COUNT, animType);
+        CardFrameWorkload workload = new CardFrameWorkload(CARD_COUNT, animType);
+        expected.setUp();
+        workload.setUp();
+        InfiniteCardView cardView = workload.getCardView();
+        CardViewTransformerToFront toFront = new CardViewTransformerToFront(cardView);
+        ViewTransformerChecked common = new ViewTransformerChecked(cardView,
+                new ViewTransformerCommon());
+        cardView.setTransformerToFront(toFront);
+        cardView.setTransformerToBack(new ViewTransformerChecked(cardView,
+                new ViewTransformerCommon()));
+        cardView.setTransformerCommon(common);
+        int mismatches = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            expected.runIteration(i);
+            workload.runIteration(i);
+            InfiniteCardView expectedView = expected.getCardView();
+            for (int j = 0; j < cardView.getChildCount(); j++) {
+                if (!matches(cardView.getChildAt(j), expectedView.getChildAt(j))) {
+                    mismatches++;
+                }
+            }
+        }
+        //the common cards keep their positions while switching
+        boolean commonCalled = common.mCalls > 0 || animType == InfiniteCardView.ANIM_TYPE_SWITCH;
+        boolean passed = mismatches == 0 && toFront.mCalls > 0 && toFront.mForeignViews == 0 &&
+                commonCalled && common.mForeignViews == 0;
+        System.out.println((passed ? "PASS " : "FAIL ") + "view transformers " +
+                workload.getName() + ": " + toFront.mCalls + " overridden calls, " +
+                (toFront.mForeignViews + common.mForeignViews) + " calls with other views, " +
+                mismatches + " mismatched cards");
+        return passed ? 0 : 1;
+    }
+
+    /**
+     * swipe the card in the second position a little and release it, after settling back the
+     * cards should be laid out as the cards never swiped
+     */
+    private static int checkSettleBack(int animType) {
+        CardFrameWorkload expected = new CardFrameWorkload(CARD_COUNT, animType);
+        CardFrameWorkload workload = new CardFrameWorkload(CARD_COUNT, animType);
+        expected.setUp();
+        workload.setUp();
+        int frames = workload.swipe(SETTLE_BACK_FRACTION);
+        InfiniteCardView cardView = workload.getCardView();
+        InfiniteCardView expectedView = expected.getCardView();
+        int mismatches = 0;
+        for (int j = 0; j < cardView.getChildCount(); j++) {
+            if (!matches(cardView.getChildAt(j), expectedView.getChildAt(j))) {
+                mismatches++;
+            }
+        }
+        boolean passed = frames > 0 && mismatches == 0;
+        System.out.println((passed ? "PASS " : "FAIL ") + "settle back " + workload.getName() +
+                ": " + mismatches + " mismatched cards after " + frames + " frames");
+        return passed ? 0 : 1;
+    }
+
+    private static boolean matches(View view, View expected) {
+        CardTransform transform = new CardTransform();
+        CardTransform expectedTransform = new CardTransform();
+        transform.read(view);
+        expectedTransform.read(expected);
+        return matches(transform, expectedTransform);
+    }
+
+    private static boolean matches(CardTransform transform, CardTransform expected) {
+        return matches(transform.scaleX, expected.scaleX) &&
+                matches(transform.scaleY, expected.scaleY) &&
+                matches(transform.translationX, expected.translationX) &&
+                matches(transform.translationY, expected.translationY) &&
+                matches(transform.rotation, expected.rotation) &&
+                matches(transform.rotationX, expected.rotationX) &&
+                matches(transform.rotationY, expected.rotationY) &&
+                matches(transform.alpha, expected.alpha);
+    }
+
+    private static boolean matches(float value, float expected) {
+        return Math.abs(value - expected) <= TOLERANCE;
+    }
+
+    /**
+     * subclass of the default overriding the view method, as an app may do
+     */
+    private static class CardViewTransformerToFront extends DefaultTransformerToFront {
+        private final InfiniteCardView mCardView;
+        private int mCalls, mForeignViews;
+
+        CardViewTransformerToFront(InfiniteCardView cardView) {
+            this.mCardView = cardView;
+        }
+
+        @Override
+        public void transformAnimation(View view, float fraction, int cardWidth, int cardHeight,
+                                       int fromPosition, int toPosition) {
+            mCalls++;
+            if (view.getParent() != mCardView) {
+                mForeignViews++;
+            }
+            super.transformAnimation(view, fraction, cardWidth, cardHeight, fromPosition,
+                    toPosition);
+        }
+    }
+
+    /**
+     * view transformer counting the calls with views other than the card views
+     */
+    private static class ViewTransformerChecked implements AnimationTransformer {
+        private final InfiniteCardView mCardView;
+        private final AnimationTransformer mTransformer;
+        private int mCalls, mForeignViews;
+
+        ViewTransformerChecked(InfiniteCardView cardView, AnimationTransformer transformer) {
+            this.mCardView = cardView;
+            this.mTransformer = transformer;
+        }
+
+        @Override
+        public void transformAnimation(View view, float fraction, int cardWidth, int cardHeight,
+                                       int fromPosition, int toPosition) {
+            mCalls++;
+            if (view.getParent() != mCardView) {
+                mForeignViews++;
+            }
+            mTransformer.transformAnimation(view, fraction, cardWidth, cardHeight, fromPosition,
+                    toPosition);
+        }
+
+        @Override
+        public void transformInterpolatedAnimation(View view, float fraction, int cardWidth,
+                                                   int cardHeight, int fromPosition,
+                                                   int toPosition) {
+        }
+    }
+
+    /**
+     * former view transformers of the defaults, the common transformer was also the one to back
+     */
+    private static class ViewTransformerToFront implements AnimationTransformer {
+        @Override
+        public void transformAnimation(View view, float fraction, int cardWidth, int cardHeight,
+                                       int fromPosition, int toPosition) {
+            int positionCount = fromPosition - toPosition;
+            float scale = (0.8f - 0.1f * fromPosition) + (0.1f * fraction * positionCount);
+            ViewHelper.setScaleX(view, scale);
+            ViewHelper.setScaleY(view, scale);
+            ViewHelper.setRotationX(view, 180 * (1 - fraction));
+            if (fraction < 0.5) {
+                ViewHelper.setTranslationY(view, -cardHeight * (0.8f - scale) * 0.5f -
+                        cardWidth * 0.02f * fromPosition - cardHeight * fraction);
+            } else {
+                ViewHelper.setTranslationY(view, -cardHeight * (0.8f - scale) * 0.5f -
+                        cardWidth * (0.02f * fromPosition - 0.02f * fraction * positionCount) -
+                        cardHeight * (1 - fraction));
+            }
+        }
+
+        @Override
+        public void transformInterpolatedAnimation(View view, float fraction, int cardWidth,
+                                                   int cardHeight, int fromPosition,
+                                                   int toPosition) {
+        }
+    }
+
+    private static class ViewTransformerCommon implements AnimationTransformer {
+        @Override
+        public void transformAnimation(View view, float fraction, int cardWidth, int cardHeight,
+                                       int fromPosition, int toPosition) {
+            int positionCount = fromPosition - toPosition;
+            float scale = (0.8f - 0.1f * fromPosition) + (0.1f * fraction * positionCount);
+            ViewHelper.setScaleX(view, scale);
+            ViewHelper.setScaleY(view, scale);
+            ViewHelper.setTranslationY(view, -cardHeight * (0.8f - scale) * 0.5f - cardWidth *
+                    (0.02f * fromPosition - 0.02f * fraction * positionCount));
+        }
+
+        @Override
+        public void transformInterpolatedAnimation(View view, float fraction, int cardWidth,
+                                                   int cardHeight, int fromPosition,
+                                                   int toPosition) {
+        }
+    }
+
+    private static class ViewTransformerAdd implements AnimationTransformer {
+        @Override
+        public void transformAnimation(View view, float fraction, int cardWidth, int cardHeight,
+                                       int fromPosition, int toPosition) {
+            fromPosition = toPosition + 1;
+            int positionCount = fromPosition - toPosition;
+            float scale = (0.8f - 0.1f * fromPosition) + (0.1f * fraction * positionCount);
+            ViewHelper.setScaleX(view, scale);
+            ViewHelper.setScaleY(view, scale);
+            ViewHelper.setTranslationY(view, -cardHeight * (0.8f - scale) * 0.5f - cardWidth *
+                    (0.02f * fromPosition - 0.02f * fraction * positionCount));
+            ViewHelper.setAlpha(view, fraction);
+        }
+
+        @Override
+        public void transformInterpolatedAnimation(View view, float fraction, int cardWidth,
+                                                   int cardHeight, int fromPosition,
+                                                   int toPosition) {
+        }
+    }
+
+    private static class ViewTransformerRemove implements AnimationTransformer {
+        @Override
+        public void transformAnimation(View view, float fraction, int cardWidth, int cardHeight,
+                                       int fromPosition, int toPosition) {
+            float scale = (0.8f - 0.1f * fromPosition);
+            ViewHelper.setScaleX(view, scale);
+            ViewHelper.setScaleY(view, scale);
+            ViewHelper.setTranslationY(view, -cardHeight * (0.8f - scale) * 0.5f - cardWidth *
+                    0.02f * fromPosition + cardHeight * fraction);
+            ViewHelper.setAlpha(view, 1 - fraction);
+        }
+
+        @Override
+        public void transformInterpolatedAnimation(View view, float fraction, int cardWidth,
+                                                   int cardHeight, int fromPosition,
+                                                   int toPosition) {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.view.View;
+
+/**
+ * workload calling a transformer for the fractions of an animation, an operation is a call of
+ * transformAnimation and transformInterpolatedAnimation, card transformers write a card transform
+ * without a view as the animation helper does
+ *
+ * @author BakerJ
+ */
+class TransformerWorkload implements Benchmark.Workload {
+    private static final int FRACTIONS = 60, CARD_WIDTH = 1080, CARD_HEIGHT = 540;
+    private final String mName;
+    private final AnimationTransformer mTransformer;
+    private final CardTransformer mCardTransformer;
+    private final ZIndexTransformer mZIndexTransformer;
+    private final int mFromPosition, mToPosition;
+    private View mView;
+    private CardItem mCard;
+
+    TransformerWorkload(AnimationTransformer transformer, int fromPosition, int toPosition) {
+        this(transformer.getClass().getSimpleName(), transformer, null, null, fromPosition,
+                toPosition);
+    }
+
+    TransformerWorkload(CardTransformer transformer, int fromPosition, int toPosition) {
+        this(transformer.getClass().getSimpleName(), null, transformer, null, fromPosition,
+                toPosition);
+    }
+
+    TransformerWorkload(ZIndexTransformer transformer, int fromPosition, int toPosition) {
+        this(transformer.getClass().getSimpleName(), null, null, transformer, fromPosition,
+                toPosition);
+    }
+
+    private TransformerWorkload(String name, AnimationTransformer transformer,
+                                CardTransformer cardTransformer,
+                                ZIndexTransformer zIndexTransformer, int fromPosition,
+                                int toPosition) {
+        this.mName = name;
+        this.mTransformer = transformer;
+        this.mCardTransformer = cardTransformer;
+        this.mZIndexTransformer = zIndexTransformer;
+        this.mFromPosition = fromPosition;
+        this.mToPosition = toPosition;
+    }
+
+    @Override
+    public String getName() {
+        return mName + " " + mFromPosition + "->" + mToPosition;
+    }
+
+    @Override
+    public void setUp() {
+        mView = new View(new Context());
+        mCard = new CardItem(mView, 0, 0);
+    }
+
+    @Override
+    public int runIteration(int iteration) {
+        for (int i = 0; i <= FRACTIONS; i++) {
+            float fraction = (float) i / FRACTIONS;
+            if (mCardTransformer != null) {
+                mCardTransformer.transformAnimation(mCard.transform, fraction, CARD_WIDTH,
+                        CARD_HEIGHT, mFromPosition, mToPosition);
+                mCardTransformer.transformInterpolatedAnimation(mCard.transform, fraction,
+                        CARD_WIDTH, CARD_HEIGHT, mFromPosition, mToPosition);
+            } else if (mTransformer != null) {
+                mTransformer.transformAnimation(mView, fraction, CARD_WIDTH, CARD_HEIGHT,
+                        mFromPosition, mToPosition);
+                mTransformer.transformInterpolatedAnimation(mView, fraction, CARD_WIDTH,
+                        CARD_HEIGHT, mFromPosition, mToPosition);
+            } else {
+                mZIndexTransformer.transformAnimation(mCard, fraction, CARD_WIDTH, CARD_HEIGHT,
+                        mFromPosition, mToPosition);
+                mZIndexTransformer.transformInterpolatedAnimation(mCard, fraction, CARD_WIDTH,
+                        CARD_HEIGHT, mFromPosition, mToPosition);
+            }
+        }
+        return FRACTIONS + 1;
+    }
+
+    @Override
+    public void tearDown() {
+        mView = null;
+        mCard = null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.FrameLayout;
+
+/**
+ * workload sorting the drawing order of a deck while the Z index of a card moves through the
+ * deck, as the card moving to front does in an animation, an operation is a sort
+ *
+ * @author BakerJ
+ */
+class ZIndexOrderWorkload implements Benchmark.Workload {
+    private static final int FRACTIONS = 60;
+    private final int mCardCount;
+    private final ZIndexOrder mZIndexOrder = new ZIndexOrder();
+    private CardDeck mCards;
+
+    ZIndexOrderWorkload(int cardCount) {
+        this.mCardCount = cardCount;
+    }
+
+    @Override
+    public String getName() {
+        return "zIndexOrder x" + mCardCount;
+    }
+
+    @Override
+    public void setUp() {
+        Context context = new Context();
+        FrameLayout container = new FrameLayout(context);
+        mCards = new CardDeck(mCardCount);
+        for (int i = 0; i < mCardCount; i++) {
+            CardItem card = new CardItem(new View(context), i, i);
+            container.addView(card.view);
+            mCards.addLast(card);
+        }
+        mZIndexOrder.rebuild(container, mCards);
+    }
+
+    @Override
+    public int runIteration(int iteration) {
+        //the last card moves to front, and back in the next iteration
+        CardItem card = mCards.getLast();
+        for (int i = 0; i <= FRACTIONS; i++) {
+            float fraction = (float) i / FRACTIONS;
+            if (iteration % 2 == 1) {
+                fraction = 1 - fraction;
+            }
+            card.zIndex = (mCardCount - 1) * (1 - fraction) - 0.5f * fraction;
+            mZIndexOrder.sort();
+        }
+        return FRACTIONS + 1;
+    }
+
+    @Override
+    public void tearDown() {
+        mCards = null;
+    }
+}
@@ -0,0 +1,17 @@
+package android.animation;
+
+/**
+ * JVM stub of the ValueAnimator, only the duration scale of the animators is supported, which
+ * can be set by the checks as the developer options would
+ */
+public class ValueAnimator {
+    private static float sDurationScale = 1;
+
+    public static float getDurationScale() {
+        return sDurationScale;
+    }
+
+    public static void setDurationScale(float durationScale) {
+        sDurationScale = durationScale;
+    }
+}
@@ -0,0 +1,7 @@
+package android.content;
+
+/**
+ * JVM stub of the ContentResolver, used only as the key of the settings
+ */
+public class ContentResolver {
+}
@@ -0,0 +1,25 @@
+package android.content;
+
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+
+/**
+ * JVM stub of the Context, attributes are not supported
+ */
+public class Context {
+    private final Resources mResources = new Resources();
+    private final ContentResolver mContentResolver = new ContentResolver();
+
+    public Resources getResources() {
+        return mResources;
+    }
+
+    public ContentResolver getContentResolver() {
+        return mContentResolver;
+    }
+
+    public TypedArray obtainStyledAttributes(AttributeSet set, int[] attrs) {
+        return new TypedArray();
+    }
+}
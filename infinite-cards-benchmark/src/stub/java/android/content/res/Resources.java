@@ -0,0 +1,14 @@
+package android.content.res;
+
+import android.util.DisplayMetrics;
+
+/**
+ * JVM stub of the Resources, holding the display metrics of an mdpi screen
+ */
+public class Resources {
+    private final DisplayMetrics mMetrics = new DisplayMetrics();
+
+    public DisplayMetrics getDisplayMetrics() {
+        return mMetrics;
+    }
+}
@@ -0,0 +1,29 @@
+package android.content.res;
+
+/**
+ * JVM stub of the TypedArray, the default values are returned
+ */
+public class TypedArray {
+    public int getInt(int index, int defValue) {
+        return defValue;
+    }
+
+    public float getFloat(int index, float defValue) {
+        return defValue;
+    }
+
+    public int getColor(int index, int defValue) {
+        return defValue;
+    }
+
+    public float getDimension(int index, float defValue) {
+        return defValue;
+    }
+
+    public boolean getBoolean(int index, boolean defValue) {
+        return defValue;
+    }
+
+    public void recycle() {
+    }
+}
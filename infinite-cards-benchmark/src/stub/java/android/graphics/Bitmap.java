@@ -0,0 +1,36 @@
+package android.graphics;
+
+/**
+ * JVM stub of the Bitmap, holding the size only, no pixel is allocated
+ */
+public final class Bitmap {
+    private final int mWidth, mHeight;
+
+    public enum Config {
+        ARGB_8888
+    }
+
+    private Bitmap(int width, int height) {
+        this.mWidth = width;
+        this.mHeight = height;
+    }
+
+    public static Bitmap createBitmap(int width, int height, Config config) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("width and height must be > 0");
+        }
+        return new Bitmap(width, height);
+    }
+
+    public int getWidth() {
+        return mWidth;
+    }
+
+    public int getHeight() {
+        return mHeight;
+    }
+
+    public int getRowBytes() {
+        return mWidth * 4;
+    }
+}
@@ -0,0 +1,42 @@
+package android.graphics;
+
+/**
+ * JVM stub of the Canvas, nothing is drawn, the shapes drawn are counted
+ */
+public class Canvas {
+    private int mSaveCount = 1, mShapeCount;
+
+    public Canvas() {
+    }
+
+    public Canvas(Bitmap bitmap) {
+    }
+
+    public int save() {
+        return mSaveCount++;
+    }
+
+    public void restoreToCount(int saveCount) {
+        mSaveCount = saveCount;
+    }
+
+    public void translate(float dx, float dy) {
+    }
+
+    public void scale(float sx, float sy) {
+    }
+
+    public void scale(float sx, float sy, float px, float py) {
+    }
+
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        mShapeCount++;
+    }
+
+    /**
+     * @return count of the shapes drawn
+     */
+    public int getShapeCount() {
+        return mShapeCount;
+    }
+}
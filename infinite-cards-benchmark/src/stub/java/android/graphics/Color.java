@@ -0,0 +1,10 @@
+package android.graphics;
+
+/**
+ * JVM stub of the Color
+ */
+public class Color {
+    public static int alpha(int color) {
+        return color >>> 24;
+    }
+}
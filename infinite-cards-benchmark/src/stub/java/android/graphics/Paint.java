@@ -0,0 +1,27 @@
+package android.graphics;
+
+/**
+ * JVM stub of the Paint, holding the color only
+ */
+public class Paint {
+    public static final int ANTI_ALIAS_FLAG = 1;
+    private int mColor;
+
+    public Paint() {
+    }
+
+    public Paint(int flags) {
+    }
+
+    public void setColor(int color) {
+        mColor = color;
+    }
+
+    public void setAlpha(int alpha) {
+        mColor = (mColor & 0xffffff) | (alpha << 24);
+    }
+
+    public int getColor() {
+        return mColor;
+    }
+}
@@ -0,0 +1,16 @@
+package android.os;
+
+/**
+ * JVM stub of the Build, the benchmark runs as the latest supported API level, SDK_INT is not
+ * final, so the checks can run the code paths of older API levels as well
+ */
+public class Build {
+    public static class VERSION {
+        public static int SDK_INT = VERSION_CODES.O;
+    }
+
+    public static class VERSION_CODES {
+        public static final int HONEYCOMB = 11, JELLY_BEAN = 16, JELLY_BEAN_MR1 = 17, KITKAT = 19, LOLLIPOP = 21,
+                N_MR1 = 25, O = 26;
+    }
+}
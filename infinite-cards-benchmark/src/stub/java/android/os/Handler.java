@@ -0,0 +1,21 @@
+package android.os;
+
+/**
+ * JVM stub of the Handler, the runnables are posted to the message queue of the looper
+ */
+public class Handler {
+    private final Looper mLooper;
+
+    public Handler(Looper looper) {
+        this.mLooper = looper;
+    }
+
+    public final boolean post(Runnable r) {
+        mLooper.mQueue.post(r);
+        return true;
+    }
+
+    public final void removeCallbacks(Runnable r) {
+        mLooper.mQueue.removeCallbacks(r);
+    }
+}
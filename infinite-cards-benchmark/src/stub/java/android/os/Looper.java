@@ -0,0 +1,25 @@
+package android.os;
+
+/**
+ * JVM stub of the Looper, the benchmark runs on a single main thread
+ */
+public final class Looper {
+    private static final Looper sMainLooper = new Looper();
+    final MessageQueue mQueue = new MessageQueue();
+
+    public static Looper getMainLooper() {
+        return sMainLooper;
+    }
+
+    public static Looper myLooper() {
+        return sMainLooper;
+    }
+
+    public static MessageQueue myQueue() {
+        return sMainLooper.mQueue;
+    }
+
+    public MessageQueue getQueue() {
+        return mQueue;
+    }
+}
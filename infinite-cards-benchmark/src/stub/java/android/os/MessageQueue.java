@@ -0,0 +1,76 @@
+package android.os;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stub of the MessageQueue, holding the runnables posted to the main thread, which are run
+ * by the Choreographer stub before the frame callbacks of each frame, and the idle handlers, which
+ * are run after the frame callbacks while no runnable is pending, no allocation is made while
+ * dispatching
+ */
+public final class MessageQueue {
+    private ArrayList<Runnable> mRunnables = new ArrayList<>(),
+            mRunningRunnables = new ArrayList<>();
+    private ArrayList<IdleHandler> mIdleHandlers = new ArrayList<>(),
+            mRunningIdleHandlers = new ArrayList<>();
+
+    public interface IdleHandler {
+        boolean queueIdle();
+    }
+
+    public void addIdleHandler(IdleHandler handler) {
+        mIdleHandlers.add(handler);
+    }
+
+    public void removeIdleHandler(IdleHandler handler) {
+        mIdleHandlers.remove(handler);
+    }
+
+    void post(Runnable action) {
+        mRunnables.add(action);
+    }
+
+    void removeCallbacks(Runnable action) {
+        while (mRunnables.remove(action)) {
+            //remove all
+        }
+    }
+
+    /**
+     * run the runnables posted, the runnables posted while running are run in the next dispatch
+     */
+    public void dispatch() {
+        ArrayList<Runnable> runnables = mRunnables;
+        mRunnables = mRunningRunnables;
+        mRunningRunnables = runnables;
+        for (int i = 0; i < runnables.size(); i++) {
+            runnables.get(i).run();
+        }
+        runnables.clear();
+    }
+
+    /**
+     * run the idle handlers if no runnable is pending, the handlers returning true are kept
+     */
+    public void dispatchIdle() {
+        if (hasPending()) {
+            return;
+        }
+        ArrayList<IdleHandler> handlers = mIdleHandlers;
+        mIdleHandlers = mRunningIdleHandlers;
+        mRunningIdleHandlers = handlers;
+        for (int i = 0; i < handlers.size(); i++) {
+            if (handlers.get(i).queueIdle()) {
+                mIdleHandlers.add(handlers.get(i));
+            }
+        }
+        handlers.clear();
+    }
+
+    /**
+     * @return whether any runnable is pending
+     */
+    public boolean hasPending() {
+        return !mRunnables.isEmpty();
+    }
+}
@@ -0,0 +1,10 @@
+package android.os;
+
+/**
+ * JVM stub of the SystemClock
+ */
+public final class SystemClock {
+    public static long uptimeMillis() {
+        return System.nanoTime() / 1000000;
+    }
+}
@@ -0,0 +1,35 @@
+package android.provider;
+
+import android.content.ContentResolver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM stub of the Settings, the settings are kept in memory, shared by all content resolvers
+ */
+public final class Settings {
+    private static final Map<String, Float> sFloats = new HashMap<>();
+
+    public static final class Global {
+        public static final String ANIMATOR_DURATION_SCALE = "animator_duration_scale";
+
+        public static float getFloat(ContentResolver resolver, String name, float def) {
+            Float value = sFloats.get(name);
+            return value != null ? value : def;
+        }
+
+        public static boolean putFloat(ContentResolver resolver, String name, float value) {
+            sFloats.put(name, value);
+            return true;
+        }
+    }
+
+    public static final class System {
+        public static final String ANIMATOR_DURATION_SCALE = Global.ANIMATOR_DURATION_SCALE;
+
+        public static float getFloat(ContentResolver resolver, String name, float def) {
+            return Global.getFloat(resolver, name, def);
+        }
+    }
+}
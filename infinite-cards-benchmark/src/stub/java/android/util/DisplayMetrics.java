@@ -0,0 +1,8 @@
+package android.util;
+
+/**
+ * JVM stub of the DisplayMetrics
+ */
+public class DisplayMetrics {
+    public float density = 1;
+}
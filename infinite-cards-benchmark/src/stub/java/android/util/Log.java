@@ -0,0 +1,11 @@
+package android.util;
+
+/**
+ * JVM stub of the Log, the warnings are printed to the standard error
+ */
+public final class Log {
+    public static int w(String tag, String msg, Throwable tr) {
+        System.err.println("W/" + tag + ": " + msg + ": " + tr);
+        return 0;
+    }
+}
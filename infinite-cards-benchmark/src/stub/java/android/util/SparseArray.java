@@ -0,0 +1,30 @@
+package android.util;
+
+import java.util.HashMap;
+
+/**
+ * JVM stub of the SparseArray backed by a HashMap
+ */
+public class SparseArray<E> {
+    private final HashMap<Integer, E> mMap = new HashMap<>();
+
+    public E get(int key) {
+        return mMap.get(key);
+    }
+
+    public void put(int key, E value) {
+        mMap.put(key, value);
+    }
+
+    public void remove(int key) {
+        mMap.remove(key);
+    }
+
+    public int size() {
+        return mMap.size();
+    }
+
+    public void clear() {
+        mMap.clear();
+    }
+}
@@ -0,0 +1,111 @@
+package android.view;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+
+/**
+ * JVM stub of the Choreographer, the frames are pumped by the benchmark with a simulated frame
+ * time, the runnables posted to the main thread are run before the frame callbacks, and the idle
+ * handlers after them, no allocation is made while pumping
+ */
+public final class Choreographer {
+    private static final long NANOS_PER_MS = 1000000;
+    private static final Choreographer sInstance = new Choreographer();
+    //callbacks to run and their due times, swapped with the running ones on each frame
+    private CallbackQueue mCallbacks = new CallbackQueue(), mRunningCallbacks =
+            new CallbackQueue();
+    //runnables posted to the main thread
+    private final MessageQueue mQueue = Looper.getMainLooper().getQueue();
+    private long mFrameTimeNanos;
+
+    public interface FrameCallback {
+        void doFrame(long frameTimeNanos);
+    }
+
+    public static Choreographer getInstance() {
+        return sInstance;
+    }
+
+    public void postFrameCallback(FrameCallback callback) {
+        postFrameCallbackDelayed(callback, 0);
+    }
+
+    public void postFrameCallbackDelayed(FrameCallback callback, long delayMillis) {
+        mCallbacks.add(callback, mFrameTimeNanos + delayMillis * NANOS_PER_MS);
+    }
+
+    public void removeFrameCallback(FrameCallback callback) {
+        mCallbacks.remove(callback);
+        mRunningCallbacks.remove(callback);
+    }
+
+    /**
+     * run a frame at the specific time, the callbacks posted while running are run in the next
+     * frame
+     *
+     * @param frameTimeNanos frame time
+     */
+    public void doFrame(long frameTimeNanos) {
+        mFrameTimeNanos = frameTimeNanos;
+        mQueue.dispatch();
+        CallbackQueue callbacks = mCallbacks;
+        mCallbacks = mRunningCallbacks;
+        mRunningCallbacks = callbacks;
+        for (int i = 0; i < callbacks.mSize; i++) {
+            FrameCallback callback = callbacks.mCallbacks[i];
+            if (callback == null) {
+                //removed while running
+                continue;
+            }
+            if (callbacks.mTimes[i] > frameTimeNanos) {
+                mCallbacks.add(callback, callbacks.mTimes[i]);
+            } else {
+                callback.doFrame(frameTimeNanos);
+            }
+        }
+        callbacks.clear();
+        mQueue.dispatchIdle();
+    }
+
+    /**
+     * @return whether any runnable or callback is pending
+     */
+    public boolean hasPending() {
+        return mCallbacks.mSize > 0 || mQueue.hasPending();
+    }
+
+    private static class CallbackQueue {
+        private FrameCallback[] mCallbacks = new FrameCallback[16];
+        private long[] mTimes = new long[16];
+        private int mSize;
+
+        void add(FrameCallback callback, long time) {
+            if (mSize == mCallbacks.length) {
+                FrameCallback[] callbacks = new FrameCallback[mSize * 2];
+                long[] times = new long[mSize * 2];
+                System.arraycopy(mCallbacks, 0, callbacks, 0, mSize);
+                System.arraycopy(mTimes, 0, times, 0, mSize);
+                mCallbacks = callbacks;
+                mTimes = times;
+            }
+            mCallbacks[mSize] = callback;
+            mTimes[mSize] = time;
+            mSize++;
+        }
+
+        void remove(FrameCallback callback) {
+            for (int i = 0; i < mSize; i++) {
+                if (mCallbacks[i] == callback) {
+                    mCallbacks[i] = null;
+                }
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < mSize; i++) {
+                mCallbacks[i] = null;
+            }
+            mSize = 0;
+        }
+    }
+}
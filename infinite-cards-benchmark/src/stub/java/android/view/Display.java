@@ -0,0 +1,7 @@
+package android.view;
+
+public class Display {
+    public float getRefreshRate() {
+        return 60;
+    }
+}
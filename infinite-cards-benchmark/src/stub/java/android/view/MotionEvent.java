@@ -0,0 +1,30 @@
+package android.view;
+
+/**
+ * JVM stub of the MotionEvent, touches are not simulated by the benchmark
+ */
+public final class MotionEvent {
+    public static final int ACTION_DOWN = 0, ACTION_UP = 1, ACTION_MOVE = 2, ACTION_CANCEL = 3;
+    private int mAction;
+    private float mX, mY;
+
+    public static MotionEvent obtain(int action, float x, float y) {
+        MotionEvent event = new MotionEvent();
+        event.mAction = action;
+        event.mX = x;
+        event.mY = y;
+        return event;
+    }
+
+    public int getActionMasked() {
+        return mAction;
+    }
+
+    public float getX() {
+        return mX;
+    }
+
+    public float getY() {
+        return mY;
+    }
+}
@@ -0,0 +1,26 @@
+package android.view;
+
+/**
+ * JVM stub of the VelocityTracker, the velocity is always 0
+ */
+public final class VelocityTracker {
+    public static VelocityTracker obtain() {
+        return new VelocityTracker();
+    }
+
+    public void addMovement(MotionEvent event) {
+    }
+
+    public void computeCurrentVelocity(int units, float maxVelocity) {
+    }
+
+    public float getXVelocity() {
+        return 0;
+    }
+
+    public void clear() {
+    }
+
+    public void recycle() {
+    }
+}
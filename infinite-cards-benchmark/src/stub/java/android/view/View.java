@@ -0,0 +1,318 @@
+package android.view;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.Arrays;
+
+/**
+ * JVM stub of the View, holding the properties written by the library, a layout pass is run by
+ * the benchmark while requested
+ */
+public class View {
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+    public static final int VISIBLE = 0, INVISIBLE = 4, GONE = 8;
+    public static final int LAYER_TYPE_NONE = 0, LAYER_TYPE_SOFTWARE = 1, LAYER_TYPE_HARDWARE = 2;
+    private final Context mContext;
+    ViewParent mParent;
+    ViewGroup.LayoutParams mLayoutParams;
+    private int mVisibility = VISIBLE, mLayerType = LAYER_TYPE_NONE;
+    private float mScaleX = 1, mScaleY = 1, mTranslationX, mTranslationY, mRotation, mRotationX,
+            mRotationY, mAlpha = 1;
+    private int mMeasuredWidth, mMeasuredHeight, mLeft, mTop, mRight, mBottom;
+    private boolean mLayoutRequested = true, mClickable;
+    private OnClickListener mOnClickListener;
+    private Object mTag;
+    //keys and values of the keyed tags
+    private int[] mTagKeys = new int[0];
+    private Object[] mTagValues = new Object[0];
+
+    public View(Context context) {
+        this.mContext = context;
+    }
+
+    public interface OnClickListener {
+        void onClick(View v);
+    }
+
+    public Context getContext() {
+        return mContext;
+    }
+
+    public ViewParent getParent() {
+        return mParent;
+    }
+
+    public void setOnClickListener(OnClickListener l) {
+        mOnClickListener = l;
+        mClickable = true;
+    }
+
+    public boolean performClick() {
+        if (mOnClickListener == null) {
+            return false;
+        }
+        mOnClickListener.onClick(this);
+        return true;
+    }
+
+    public boolean isClickable() {
+        return mClickable;
+    }
+
+    public void setClickable(boolean clickable) {
+        mClickable = clickable;
+    }
+
+    public void setLayoutParams(ViewGroup.LayoutParams params) {
+        mLayoutParams = params;
+        requestLayout();
+    }
+
+    public ViewGroup.LayoutParams getLayoutParams() {
+        return mLayoutParams;
+    }
+
+    public void setBackgroundColor(int color) {
+    }
+
+    public void setVisibility(int visibility) {
+        mVisibility = visibility;
+    }
+
+    public int getVisibility() {
+        return mVisibility;
+    }
+
+    public void setTag(Object tag) {
+        mTag = tag;
+    }
+
+    public Object getTag() {
+        return mTag;
+    }
+
+    public void setTag(int key, Object tag) {
+        for (int i = 0; i < mTagKeys.length; i++) {
+            if (mTagKeys[i] == key) {
+                mTagValues[i] = tag;
+                return;
+            }
+        }
+        mTagKeys = Arrays.copyOf(mTagKeys, mTagKeys.length + 1);
+        mTagValues = Arrays.copyOf(mTagValues, mTagValues.length + 1);
+        mTagKeys[mTagKeys.length - 1] = key;
+        mTagValues[mTagValues.length - 1] = tag;
+    }
+
+    public Object getTag(int key) {
+        for (int i = 0; i < mTagKeys.length; i++) {
+            if (mTagKeys[i] == key) {
+                return mTagValues[i];
+            }
+        }
+        return null;
+    }
+
+    public void setLayerType(int layerType, Paint paint) {
+        mLayerType = layerType;
+    }
+
+    public int getLayerType() {
+        return mLayerType;
+    }
+
+    public float getScaleX() {
+        return mScaleX;
+    }
+
+    public void setScaleX(float scaleX) {
+        mScaleX = scaleX;
+    }
+
+    public float getScaleY() {
+        return mScaleY;
+    }
+
+    public void setScaleY(float scaleY) {
+        mScaleY = scaleY;
+    }
+
+    public float getTranslationX() {
+        return mTranslationX;
+    }
+
+    public void setTranslationX(float translationX) {
+        mTranslationX = translationX;
+    }
+
+    public float getTranslationY() {
+        return mTranslationY;
+    }
+
+    public void setTranslationY(float translationY) {
+        mTranslationY = translationY;
+    }
+
+    public float getRotation() {
+        return mRotation;
+    }
+
+    public void setRotation(float rotation) {
+        mRotation = rotation;
+    }
+
+    public float getRotationX() {
+        return mRotationX;
+    }
+
+    public void setRotationX(float rotationX) {
+        mRotationX = rotationX;
+    }
+
+    public float getRotationY() {
+        return mRotationY;
+    }
+
+    public void setRotationY(float rotationY) {
+        mRotationY = rotationY;
+    }
+
+    public float getAlpha() {
+        return mAlpha;
+    }
+
+    public void setAlpha(float alpha) {
+        mAlpha = alpha;
+    }
+
+    public void bringToFront() {
+        if (mParent != null) {
+            mParent.bringChildToFront(this);
+        }
+    }
+
+    public boolean post(Runnable action) {
+        return sMainHandler.post(action);
+    }
+
+    public void postOnAnimation(Runnable action) {
+        sMainHandler.post(action);
+    }
+
+    public boolean removeCallbacks(Runnable action) {
+        sMainHandler.removeCallbacks(action);
+        return true;
+    }
+
+    public void invalidate() {
+    }
+
+    public void requestLayout() {
+        mLayoutRequested = true;
+        if (mParent != null) {
+            mParent.requestLayout();
+        }
+    }
+
+    public boolean isLayoutRequested() {
+        return mLayoutRequested;
+    }
+
+    public final void measure(int widthMeasureSpec, int heightMeasureSpec) {
+        //a layout requested while measuring, such as a child added, needs another pass
+        mLayoutRequested = false;
+        onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        setMeasuredDimension(MeasureSpec.getSize(widthMeasureSpec),
+                MeasureSpec.getSize(heightMeasureSpec));
+    }
+
+    protected final void setMeasuredDimension(int measuredWidth, int measuredHeight) {
+        mMeasuredWidth = measuredWidth;
+        mMeasuredHeight = measuredHeight;
+    }
+
+    public final int getMeasuredWidth() {
+        return mMeasuredWidth;
+    }
+
+    public final int getMeasuredHeight() {
+        return mMeasuredHeight;
+    }
+
+    public final void layout(int l, int t, int r, int b) {
+        boolean changed = l != mLeft || t != mTop || r != mRight || b != mBottom;
+        mLeft = l;
+        mTop = t;
+        mRight = r;
+        mBottom = b;
+        onLayout(changed, l, t, r, b);
+    }
+
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+    }
+
+    public int getPaddingLeft() {
+        return 0;
+    }
+
+    public int getPaddingTop() {
+        return 0;
+    }
+
+    public int getPaddingRight() {
+        return 0;
+    }
+
+    public int getPaddingBottom() {
+        return 0;
+    }
+
+    public final int getWidth() {
+        return mRight - mLeft;
+    }
+
+    public final int getHeight() {
+        return mBottom - mTop;
+    }
+
+    public boolean onTouchEvent(MotionEvent event) {
+        return false;
+    }
+
+    protected void onAttachedToWindow() {
+    }
+
+    public Display getDisplay() {
+        return null;
+    }
+
+    protected void onDetachedFromWindow() {
+    }
+
+    public void draw(Canvas canvas) {
+        dispatchDraw(canvas);
+    }
+
+    protected void dispatchDraw(Canvas canvas) {
+    }
+
+    public static class MeasureSpec {
+        public static final int EXACTLY = 1 << 30;
+        private static final int MODE_MASK = 3 << 30;
+
+        public static int makeMeasureSpec(int size, int mode) {
+            return (size & ~MODE_MASK) | (mode & MODE_MASK);
+        }
+
+        public static int getSize(int measureSpec) {
+            return measureSpec & ~MODE_MASK;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package android.view;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stub of the ViewGroup, holding the children in child index order
+ */
+public abstract class ViewGroup extends View implements ViewParent {
+    private final ArrayList<View> mChildren = new ArrayList<>();
+    private boolean mChildrenDrawingOrderEnabled;
+
+    public ViewGroup(Context context) {
+        super(context);
+    }
+
+    public static class LayoutParams {
+        public static final int MATCH_PARENT = -1;
+        public int width, height;
+
+        public LayoutParams(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    public void addView(View child) {
+        addView(child, -1);
+    }
+
+    public void addView(View child, int index) {
+        if (child.mParent != null) {
+            throw new IllegalStateException("The specified child already has a parent.");
+        }
+        child.mParent = this;
+        if (index < 0 || index > mChildren.size()) {
+            mChildren.add(child);
+        } else {
+            mChildren.add(index, child);
+        }
+        requestLayout();
+    }
+
+    public void removeView(View child) {
+        if (mChildren.remove(child)) {
+            child.mParent = null;
+            requestLayout();
+        }
+    }
+
+    public void removeAllViews() {
+        for (int i = 0; i < mChildren.size(); i++) {
+            mChildren.get(i).mParent = null;
+        }
+        mChildren.clear();
+        requestLayout();
+    }
+
+    public void updateViewLayout(View child, LayoutParams params) {
+        child.setLayoutParams(params);
+    }
+
+    @Override
+    public void bringChildToFront(View child) {
+        if (mChildren.remove(child)) {
+            mChildren.add(child);
+            requestLayout();
+        }
+    }
+
+    protected void detachViewFromParent(View child) {
+        if (mChildren.remove(child)) {
+            child.mParent = null;
+        }
+    }
+
+    protected void attachViewToParent(View child, int index, LayoutParams params) {
+        //the params are set without requesting layout
+        child.mLayoutParams = params;
+        child.mParent = this;
+        if (index < 0 || index > mChildren.size()) {
+            mChildren.add(child);
+        } else {
+            mChildren.add(index, child);
+        }
+    }
+
+    public int getChildCount() {
+        return mChildren.size();
+    }
+
+    public View getChildAt(int index) {
+        return mChildren.get(index);
+    }
+
+    public int indexOfChild(View child) {
+        for (int i = 0; i < mChildren.size(); i++) {
+            if (mChildren.get(i) == child) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected void setChildrenDrawingOrderEnabled(boolean enabled) {
+        mChildrenDrawingOrderEnabled = enabled;
+    }
+
+    protected boolean isChildrenDrawingOrderEnabled() {
+        return mChildrenDrawingOrderEnabled;
+    }
+
+    protected int getChildDrawingOrder(int childCount, int i) {
+        return i;
+    }
+
+    @Override
+    public void requestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+    }
+
+    public boolean onInterceptTouchEvent(MotionEvent ev) {
+        return false;
+    }
+}
@@ -0,0 +1,9 @@
+package android.view;
+
+public interface ViewParent {
+    void requestLayout();
+
+    void bringChildToFront(View child);
+
+    void requestDisallowInterceptTouchEvent(boolean disallowIntercept);
+}
@@ -0,0 +1,8 @@
+package android.widget;
+
+/**
+ * JVM stub of the Adapter
+ */
+public interface Adapter {
+    int IGNORE_ITEM_VIEW_TYPE = -1;
+}
@@ -0,0 +1,53 @@
+package android.widget;
+
+import android.database.DataSetObserver;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stub of the BaseAdapter, the observers are checked like the DataSetObservable
+ */
+public abstract class BaseAdapter implements Adapter {
+    private final ArrayList<DataSetObserver> mObservers = new ArrayList<>();
+
+    public void registerDataSetObserver(DataSetObserver observer) {
+        if (mObservers.contains(observer)) {
+            throw new IllegalStateException("Observer " + observer + " is already registered.");
+        }
+        mObservers.add(observer);
+    }
+
+    public void unregisterDataSetObserver(DataSetObserver observer) {
+        if (!mObservers.remove(observer)) {
+            throw new IllegalStateException("Observer " + observer + " was not registered.");
+        }
+    }
+
+    public void notifyDataSetChanged() {
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onChanged();
+        }
+    }
+
+    public boolean hasStableIds() {
+        return false;
+    }
+
+    public int getViewTypeCount() {
+        return 1;
+    }
+
+    public int getItemViewType(int position) {
+        return 0;
+    }
+
+    public abstract int getCount();
+
+    public abstract Object getItem(int position);
+
+    public abstract long getItemId(int position);
+
+    public abstract View getView(int position, View convertView, ViewGroup parent);
+}
@@ -0,0 +1,56 @@
+package android.widget;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * JVM stub of the FrameLayout, the children are measured and laid out by their layout params
+ */
+public class FrameLayout extends ViewGroup {
+    public FrameLayout(Context context) {
+        super(context);
+    }
+
+    public FrameLayout(Context context, AttributeSet attrs) {
+        super(context);
+    }
+
+    public FrameLayout(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context);
+    }
+
+    public static class LayoutParams extends ViewGroup.LayoutParams {
+        public int gravity = -1;
+
+        public LayoutParams(int width, int height) {
+            super(width, height);
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+            ViewGroup.LayoutParams params = child.getLayoutParams();
+            int width = params == null || params.width < 0 ? getMeasuredWidth() : params.width;
+            int height = params == null || params.height < 0 ? getMeasuredHeight() :
+                    params.height;
+            child.measure(MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+        }
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+            int childLeft = (right - left - child.getMeasuredWidth()) / 2;
+            int childTop = (bottom - top - child.getMeasuredHeight()) / 2;
+            child.layout(childLeft, childTop, childLeft + child.getMeasuredWidth(),
+                    childTop + child.getMeasuredHeight());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package android.widget;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.view.View;
+
+/**
+ * JVM stub of the ImageView
+ */
+public class ImageView extends View {
+    private Bitmap mBitmap;
+
+    public enum ScaleType {
+        FIT_XY
+    }
+
+    public ImageView(Context context) {
+        super(context);
+    }
+
+    public void setScaleType(ScaleType scaleType) {
+    }
+
+    public void setImageBitmap(Bitmap bitmap) {
+        mBitmap = bitmap;
+    }
+}
@@ -0,0 +1,23 @@
+package com.bakerj.infinitecards.lib;
+
+/**
+ * JVM stub of the resources of the library, attributes are not supported by the stub Context
+ */
+public final class R {
+    public static final class id {
+        public static final int infinite_card_item = 0x7f0b0001;
+    }
+
+    public static final class styleable {
+        public static final int[] InfiniteCardView = {};
+        public static final int InfiniteCardView_animType = 0, InfiniteCardView_cardRatio = 1,
+                InfiniteCardView_animDuration = 2, InfiniteCardView_animAddRemoveDuration = 3,
+                InfiniteCardView_animAddRemoveDelay = 4, InfiniteCardView_visibleCardCount = 5,
+                InfiniteCardView_requestPolicy = 6, InfiniteCardView_swipeEnabled = 7,
+                InfiniteCardView_layerPolicy = 8, InfiniteCardView_layerMemoryBudget = 9,
+                InfiniteCardView_snapshotDepth = 10, InfiniteCardView_snapshotMemoryBudget = 11,
+                InfiniteCardView_shapeDepth = 12, InfiniteCardView_shapeColor = 13,
+                InfiniteCardView_shapeCornerRadius = 14, InfiniteCardView_shapeShadowColor = 15,
+                InfiniteCardView_shapeShadowSize = 16;
+    }
+}
@@ -0,0 +1,33 @@
+package com.nineoldandroids.animation;
+
+/**
+ * JVM stub of the nineoldandroids Animator, the benchmark runs on the Choreographer backend
+ */
+public abstract class Animator {
+    public interface AnimatorListener {
+        void onAnimationStart(Animator animation);
+
+        void onAnimationEnd(Animator animation);
+
+        void onAnimationCancel(Animator animation);
+
+        void onAnimationRepeat(Animator animation);
+    }
+
+    public void addListener(AnimatorListener listener) {
+    }
+
+    public void start() {
+        throw new UnsupportedOperationException("legacy animator is not supported");
+    }
+
+    public void cancel() {
+    }
+
+    public void end() {
+    }
+
+    public boolean isStarted() {
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.nineoldandroids.animation;
+
+import android.view.animation.Interpolator;
+
+/**
+ * JVM stub of the nineoldandroids ValueAnimator, the benchmark runs on the Choreographer backend
+ */
+public class ValueAnimator extends Animator {
+    public interface AnimatorUpdateListener {
+        void onAnimationUpdate(ValueAnimator animation);
+    }
+
+    public static ValueAnimator ofFloat(float... values) {
+        return new ValueAnimator();
+    }
+
+    public ValueAnimator setDuration(long duration) {
+        return this;
+    }
+
+    public void setStartDelay(long startDelay) {
+    }
+
+    public void setInterpolator(Interpolator interpolator) {
+    }
+
+    public void addUpdateListener(AnimatorUpdateListener listener) {
+    }
+
+    public float getAnimatedFraction() {
+        return 0;
+    }
+}
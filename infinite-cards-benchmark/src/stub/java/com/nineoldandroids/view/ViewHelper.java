@@ -0,0 +1,75 @@
+package com.nineoldandroids.view;
+
+import android.view.View;
+
+/**
+ * JVM stub of the ViewHelper, forwarding to the view properties as it does on API 11+
+ */
+public final class ViewHelper {
+    private ViewHelper() {
+    }
+
+    public static float getAlpha(View view) {
+        return view.getAlpha();
+    }
+
+    public static void setAlpha(View view, float alpha) {
+        view.setAlpha(alpha);
+    }
+
+    public static float getScaleX(View view) {
+        return view.getScaleX();
+    }
+
+    public static void setScaleX(View view, float scaleX) {
+        view.setScaleX(scaleX);
+    }
+
+    public static float getScaleY(View view) {
+        return view.getScaleY();
+    }
+
+    public static void setScaleY(View view, float scaleY) {
+        view.setScaleY(scaleY);
+    }
+
+    public static float getTranslationX(View view) {
+        return view.getTranslationX();
+    }
+
+    public static void setTranslationX(View view, float translationX) {
+        view.setTranslationX(translationX);
+    }
+
+    public static float getTranslationY(View view) {
+        return view.getTranslationY();
+    }
+
+    public static void setTranslationY(View view, float translationY) {
+        view.setTranslationY(translationY);
+    }
+
+    public static float getRotation(View view) {
+        return view.getRotation();
+    }
+
+    public static void setRotation(View view, float rotation) {
+        view.setRotation(rotation);
+    }
+
+    public static float getRotationX(View view) {
+        return view.getRotationX();
+    }
+
+    public static void setRotationX(View view, float rotationX) {
+        view.setRotationX(rotationX);
+    }
+
+    public static float getRotationY(View view) {
+        return view.getRotationY();
+    }
+
+    public static void setRotationY(View view, float rotationY) {
+        view.setRotationY(rotationY);
+    }
+}
@@ -0,0 +1,166 @@
+package com.bakerj.infinitecards;
+
+/**
+ * frame metrics of a card animation, recorded into preallocated primitive buffers, so the
+ * recording allocates nothing and can be kept on in release builds
+ *
+ * @author BakerJ
+ */
+public final class AnimationMetrics {
+    /*
+     * Three types of animation measured
+     * ANIMATION_TO_FRONT:bringing card to front
+     * ANIMATION_ADD:cards added
+     * ANIMATION_REMOVE:cards removed
+     */
+    public static final int ANIMATION_TO_FRONT = 0, ANIMATION_ADD = 1, ANIMATION_REMOVE = 2;
+    //max count of the frame durations kept, the earlier ones are overwritten
+    public static final int FRAME_BUFFER_SIZE = 128;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    //frame callback durations in nanoseconds, ring buffer
+    private final long[] mFrameDurations = new long[FRAME_BUFFER_SIZE];
+    private int mAnimationType;
+    private int mFrameCount, mLateFrameCount, mDroppedFrameCount, mLayoutCount;
+    private long mFrameIntervalNanos = NANOS_PER_SECOND / 60;
+    //start time of the animation, start time of the current frame and the last frame
+    private long mStartTime, mFrameStartTime, mLastFrameStartTime;
+    private long mDuration, mMaxFrameDuration;
+    private boolean mIsRecording;
+
+    AnimationMetrics(int animationType) {
+        this.mAnimationType = animationType;
+    }
+
+    /**
+     * set the refresh rate of the display, the frames later than the vsync interval are counted
+     * as late frames
+     *
+     * @param refreshRate refresh rate in frames per second
+     */
+    void setRefreshRate(float refreshRate) {
+        if (refreshRate > 0) {
+            mFrameIntervalNanos = (long) (NANOS_PER_SECOND / refreshRate);
+        }
+    }
+
+    void begin() {
+        mFrameCount = 0;
+        mLateFrameCount = 0;
+        mDroppedFrameCount = 0;
+        mLayoutCount = 0;
+        mMaxFrameDuration = 0;
+        mDuration = 0;
+        mLastFrameStartTime = 0;
+        mStartTime = System.nanoTime();
+        mIsRecording = true;
+    }
+
+    void beginFrame() {
+        if (!mIsRecording) {
+            return;
+        }
+        mFrameStartTime = System.nanoTime();
+        if (mLastFrameStartTime > 0) {
+            //vsync intervals missed since the last frame
+            long missed = (mFrameStartTime - mLastFrameStartTime + mFrameIntervalNanos / 2) /
+                    mFrameIntervalNanos - 1;
+            if (missed > 0) {
+                mLateFrameCount++;
+                mDroppedFrameCount += missed;
+            }
+        }
+        mLastFrameStartTime = mFrameStartTime;
+    }
+
+    void endFrame() {
+        if (!mIsRecording) {
+            return;
+        }
+        long duration = System.nanoTime() - mFrameStartTime;
+        mFrameDurations[mFrameCount % FRAME_BUFFER_SIZE] = duration;
+        mMaxFrameDuration = Math.max(mMaxFrameDuration, duration);
+        mFrameCount++;
+    }
+
+    void onLayout() {
+        if (mIsRecording) {
+            mLayoutCount++;
+        }
+    }
+
+    /**
+     * end the recording
+     *
+     * @return false if not recording
+     */
+    boolean end() {
+        if (!mIsRecording) {
+            return false;
+        }
+        mIsRecording = false;
+        mDuration = System.nanoTime() - mStartTime;
+        return true;
+    }
+
+    boolean isRecording() {
+        return mIsRecording;
+    }
+
+    /**
+     * @return one of ANIMATION_TO_FRONT, ANIMATION_ADD and ANIMATION_REMOVE
+     */
+    public int getAnimationType() {
+        return mAnimationType;
+    }
+
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * get the duration of the frame callback, only the last FRAME_BUFFER_SIZE frames are kept
+     *
+     * @param frame frame index, from getFrameCount() - FRAME_BUFFER_SIZE (inclusive) to
+     *              getFrameCount() (exclusive)
+     * @return duration in nanoseconds
+     */
+    public long getFrameDurationNanos(int frame) {
+        if (frame < 0 || frame >= mFrameCount || frame < mFrameCount - FRAME_BUFFER_SIZE) {
+            throw new IndexOutOfBoundsException("frame: " + frame + ", count: " + mFrameCount);
+        }
+        return mFrameDurations[frame % FRAME_BUFFER_SIZE];
+    }
+
+    public long getMaxFrameDurationNanos() {
+        return mMaxFrameDuration;
+    }
+
+    /**
+     * @return count of the frames arriving later than the vsync interval
+     */
+    public int getLateFrameCount() {
+        return mLateFrameCount;
+    }
+
+    /**
+     * @return count of the vsync intervals missed by the late frames
+     */
+    public int getDroppedFrameCount() {
+        return mDroppedFrameCount;
+    }
+
+    /**
+     * @return count of the layout passes of the card container during the animation
+     */
+    public int getLayoutCount() {
+        return mLayoutCount;
+    }
+
+    public long getFrameIntervalNanos() {
+        return mFrameIntervalNanos;
+    }
+
+    public long getDurationNanos() {
+        return mDuration;
+    }
+}
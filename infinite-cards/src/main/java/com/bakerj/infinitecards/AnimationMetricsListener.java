@@ -0,0 +1,17 @@
+package com.bakerj.infinitecards;
+
+/**
+ * listener of the frame metrics of the card animations, called on the main thread after each
+ * animation of bringing card to front, and each add or remove animation
+ *
+ * @author BakerJ
+ */
+public interface AnimationMetricsListener {
+    /**
+     * called after an animation ends, the metrics is reused for the next animation, so it should
+     * not be held after returning
+     *
+     * @param metrics metrics of the animation
+     */
+    void onAnimationMetrics(AnimationMetrics metrics);
+}
@@ -0,0 +1,24 @@
+package com.bakerj.infinitecards;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * inflater of the card views on a background executor, like the AsyncLayoutInflater, the views
+ * inflated are passed to the adapter as convertView on the main thread, so the adapter should
+ * only bind the data while a convertView is passed
+ *
+ * @author BakerJ
+ */
+public interface AsyncCardInflater {
+    /**
+     * inflate a card view of the specific item view type, called on the executor, so the view
+     * should not be attached to the parent or touched by the main thread here, a RuntimeException
+     * thrown is logged on the main thread, where the card is inflated by the adapter instead
+     *
+     * @param parent   card container view, only for generating the layout params
+     * @param viewType item view type of the adapter
+     * @return card view, null for inflating by the adapter on the main thread
+     */
+    View onInflateCardView(ViewGroup parent, int viewType);
+}
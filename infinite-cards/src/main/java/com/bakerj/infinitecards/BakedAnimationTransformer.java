@@ -0,0 +1,263 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.util.SparseArray;
+
+/**
+ * animation transformer sampling another transformer into keyframe tables for each pair of
+ * positions, so each frame is a linear interpolation over the tables instead of calculating and
+ * calling the transformer again, the tables of an animation are sampled when it starts, the
+ * output of the transformer should only depend on the arguments, fractions outside 0.0f to 1.0f
+ * from an overshooting interpolator, and fractions between two samples the transformer is not
+ * linear between, like a step at a fraction, are passed to the transformer directly, so steps
+ * are kept exactly instead of becoming ramps
+ *
+ * @author BakerJ
+ */
+public class BakedAnimationTransformer extends CardTransformer {
+    private static final int DEFAULT_SAMPLE_COUNT = 64;
+    //properties sampled
+    private static final int SCALE_X = 0, SCALE_Y = 1, TRANSLATION_X = 2, TRANSLATION_Y = 3,
+            ROTATION = 4, ROTATION_X = 5, ROTATION_Y = 6, ALPHA = 7, PROPERTY_COUNT = 8;
+    //tolerance of the value in the middle of two samples to the linear interpolation, relative
+    // to the values, a step between the samples is beyond it
+    private static final float LINEAR_TOLERANCE = 0.001f;
+    //transformer sampled, and the card transformer adapting it
+    private final AnimationTransformer mTransformer;
+    private final CardTransformer mCardTransformer;
+    //transforms written by the transformer while sampling, in the middle of two samples
+    private final CardTransform mSample = new CardTransform(), mMiddle = new CardTransform();
+    //sample count between fraction 0.0f and 1.0f
+    private final int mSampleCount;
+    //keyframe tables of transformAnimation and transformInterpolatedAnimation
+    private final SparseArray<KeyframeTable> mTables = new SparseArray<>(),
+            mInterpolatedTables = new SparseArray<>();
+    //card size of the tables
+    private int mCardWidth, mCardHeight;
+
+    public BakedAnimationTransformer(Context context, AnimationTransformer transformer) {
+        this(context, transformer, DEFAULT_SAMPLE_COUNT);
+    }
+
+    public BakedAnimationTransformer(Context context, AnimationTransformer transformer,
+                                     int sampleCount) {
+        this.mTransformer = transformer;
+        this.mCardTransformer = CardTransformerAdapter.adapt(context, transformer);
+        this.mSampleCount = Math.max(sampleCount, 1);
+    }
+
+    @Override
+    public void transformAnimation(CardTransform transform, float fraction, int cardWidth,
+                                   int cardHeight, int fromPosition, int toPosition) {
+        if (fraction < 0 || fraction > 1 || !getTable(mTables, false, cardWidth, cardHeight,
+                fromPosition, toPosition).apply(transform, fraction)) {
+            mCardTransformer.transformAnimation(transform, fraction, cardWidth, cardHeight,
+                    fromPosition, toPosition);
+        }
+    }
+
+    @Override
+    public void transformInterpolatedAnimation(CardTransform transform, float fraction,
+                                               int cardWidth, int cardHeight, int fromPosition,
+                                               int toPosition) {
+        if (fraction < 0 || fraction > 1 || !getTable(mInterpolatedTables, true, cardWidth,
+                cardHeight, fromPosition, toPosition).apply(transform, fraction)) {
+            mCardTransformer.transformInterpolatedAnimation(transform, fraction, cardWidth,
+                    cardHeight, fromPosition, toPosition);
+        }
+    }
+
+    /**
+     * sample the table of a pair of positions if not sampled yet, called when an animation
+     * starts, so no table is sampled inside an animation frame
+     *
+     * @param interpolated whether the table of transformInterpolatedAnimation
+     * @param cardWidth    card width
+     * @param cardHeight   card height
+     * @param fromPosition card moving from
+     * @param toPosition   card moving to
+     */
+    void prepare(boolean interpolated, int cardWidth, int cardHeight, int fromPosition,
+                 int toPosition) {
+        getTable(interpolated ? mInterpolatedTables : mTables, interpolated, cardWidth,
+                cardHeight, fromPosition, toPosition);
+    }
+
+    /**
+     * drop all tables, they are sampled again on the next animation
+     */
+    public void invalidate() {
+        mTables.clear();
+        mInterpolatedTables.clear();
+    }
+
+    public AnimationTransformer getTransformer() {
+        return mTransformer;
+    }
+
+    private KeyframeTable getTable(SparseArray<KeyframeTable> tables, boolean interpolated,
+                                   int cardWidth, int cardHeight, int fromPosition,
+                                   int toPosition) {
+        if (cardWidth != mCardWidth || cardHeight != mCardHeight) {
+            invalidate();
+            mCardWidth = cardWidth;
+            mCardHeight = cardHeight;
+        }
+        int key = (fromPosition << 16) | (toPosition & 0xffff);
+        KeyframeTable table = tables.get(key);
+        if (table == null) {
+            table = sample(interpolated, cardWidth, cardHeight, fromPosition, toPosition);
+            tables.put(key, table);
+        }
+        return table;
+    }
+
+    /**
+     * sample the transformer at each fraction into a keyframe table, and in the middle of each
+     * two samples, to find out the intervals the transformer is not linear in
+     */
+    private KeyframeTable sample(boolean interpolated, int cardWidth, int cardHeight,
+                                 int fromPosition, int toPosition) {
+        KeyframeTable table = new KeyframeTable(mSampleCount);
+        for (int i = 0; i <= mSampleCount; i++) {
+            sampleAt(mSample, interpolated, (float) i / mSampleCount, cardWidth, cardHeight,
+                    fromPosition, toPosition);
+            table.set(i, SCALE_X, mSample.scaleX);
+            table.set(i, SCALE_Y, mSample.scaleY);
+            table.set(i, TRANSLATION_X, mSample.translationX);
+            table.set(i, TRANSLATION_Y, mSample.translationY);
+            table.set(i, ROTATION, mSample.rotation);
+            table.set(i, ROTATION_X, mSample.rotationX);
+            table.set(i, ROTATION_Y, mSample.rotationY);
+            table.set(i, ALPHA, mSample.alpha);
+        }
+        for (int i = 0; i < mSampleCount; i++) {
+            sampleAt(mMiddle, interpolated, (i + 0.5f) / mSampleCount, cardWidth, cardHeight,
+                    fromPosition, toPosition);
+            table.checkLinear(i, SCALE_X, mMiddle.scaleX);
+            table.checkLinear(i, SCALE_Y, mMiddle.scaleY);
+            table.checkLinear(i, TRANSLATION_X, mMiddle.translationX);
+            table.checkLinear(i, TRANSLATION_Y, mMiddle.translationY);
+            table.checkLinear(i, ROTATION, mMiddle.rotation);
+            table.checkLinear(i, ROTATION_X, mMiddle.rotationX);
+            table.checkLinear(i, ROTATION_Y, mMiddle.rotationY);
+            table.checkLinear(i, ALPHA, mMiddle.alpha);
+        }
+        return table;
+    }
+
+    /**
+     * sample the transformer at a fraction, the properties not written are left NaN
+     */
+    private void sampleAt(CardTransform sample, boolean interpolated, float fraction,
+                          int cardWidth, int cardHeight, int fromPosition, int toPosition) {
+        sample.scaleX = Float.NaN;
+        sample.scaleY = Float.NaN;
+        sample.translationX = Float.NaN;
+        sample.translationY = Float.NaN;
+        sample.rotation = Float.NaN;
+        sample.rotationX = Float.NaN;
+        sample.rotationY = Float.NaN;
+        sample.alpha = Float.NaN;
+        if (interpolated) {
+            mCardTransformer.transformInterpolatedAnimation(sample, fraction, cardWidth,
+                    cardHeight, fromPosition, toPosition);
+        } else {
+            mCardTransformer.transformAnimation(sample, fraction, cardWidth, cardHeight,
+                    fromPosition, toPosition);
+        }
+    }
+
+    /**
+     * property values of each sample, only the properties written by the transformer are applied
+     */
+    private static class KeyframeTable {
+        private final float[] mValues;
+        //whether the transformer is not linear between each two samples, so it is called directly
+        private final boolean[] mDirect;
+        private final int mSampleCount;
+        //bit mask of the properties written by the transformer
+        private int mMask;
+
+        KeyframeTable(int sampleCount) {
+            mSampleCount = sampleCount;
+            mValues = new float[(sampleCount + 1) * PROPERTY_COUNT];
+            mDirect = new boolean[sampleCount];
+        }
+
+        void set(int sample, int property, float value) {
+            if (!Float.isNaN(value)) {
+                mMask |= 1 << property;
+            }
+            mValues[sample * PROPERTY_COUNT + property] = value;
+        }
+
+        /**
+         * compare the value in the middle of a sample and the next one to their linear
+         * interpolation, called after all samples are set
+         */
+        void checkLinear(int sample, int property, float middle) {
+            if ((mMask & 1 << property) == 0) {
+                return;
+            }
+            float start = mValues[sample * PROPERTY_COUNT + property];
+            float end = mValues[(sample + 1) * PROPERTY_COUNT + property];
+            float tolerance = LINEAR_TOLERANCE * Math.max(1, Math.max(Math.abs(start),
+                    Math.abs(end)));
+            //NaN is never within the tolerance, so the intervals a property is not written in
+            // are not linear either, and the transformer leaves the property as it does
+            if (!(Math.abs(middle - (start + end) * 0.5f) <= tolerance)) {
+                mDirect[sample] = true;
+            }
+        }
+
+        /**
+         * apply the properties interpolated at the fraction
+         *
+         * @return false if the transformer is not linear around the fraction, so it should be
+         * called directly
+         */
+        boolean apply(CardTransform transform, float fraction) {
+            if (mMask == 0) {
+                return true;
+            }
+            float position = fraction * mSampleCount;
+            int sample = Math.min((int) position, mSampleCount - 1);
+            if (mDirect[sample]) {
+                return false;
+            }
+            float t = position - sample;
+            int from = sample * PROPERTY_COUNT;
+            if ((mMask & 1 << SCALE_X) != 0) {
+                transform.scaleX = lerp(from + SCALE_X, t);
+            }
+            if ((mMask & 1 << SCALE_Y) != 0) {
+                transform.scaleY = lerp(from + SCALE_Y, t);
+            }
+            if ((mMask & 1 << TRANSLATION_X) != 0) {
+                transform.translationX = lerp(from + TRANSLATION_X, t);
+            }
+            if ((mMask & 1 << TRANSLATION_Y) != 0) {
+                transform.translationY = lerp(from + TRANSLATION_Y, t);
+            }
+            if ((mMask & 1 << ROTATION) != 0) {
+                transform.rotation = lerp(from + ROTATION, t);
+            }
+            if ((mMask & 1 << ROTATION_X) != 0) {
+                transform.rotationX = lerp(from + ROTATION_X, t);
+            }
+            if ((mMask & 1 << ROTATION_Y) != 0) {
+                transform.rotationY = lerp(from + ROTATION_Y, t);
+            }
+            if ((mMask & 1 << ALPHA) != 0) {
+                transform.alpha = lerp(from + ALPHA, t);
+            }
+            return true;
+        }
+
+        private float lerp(int index, float t) {
+            float start = mValues[index];
+            return start + (mValues[index + PROPERTY_COUNT] - start) * t;
+        }
+    }
+}
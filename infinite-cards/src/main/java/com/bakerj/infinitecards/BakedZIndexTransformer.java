@@ -0,0 +1,194 @@
+package com.bakerj.infinitecards;
+
+import android.util.SparseArray;
+
+/**
+ * Z index transformer sampling another transformer into keyframe tables for each pair of
+ * positions, so each frame is a linear interpolation over the tables, the tables of an animation
+ * are sampled when it starts, fractions outside 0.0f to 1.0f, and fractions between two samples
+ * the transformer is not linear between, like the flip of the Z index at a fraction, are passed
+ * to the transformer directly, so the Z index steps at the exact fraction
+ *
+ * @author BakerJ
+ */
+public class BakedZIndexTransformer implements ZIndexTransformer {
+    private static final int DEFAULT_SAMPLE_COUNT = 64;
+    //tolerance of the Z index in the middle of two samples to the linear interpolation, relative
+    // to the Z indexes, far smaller than the steps between positions
+    private static final float LINEAR_TOLERANCE = 0.00001f;
+    //transformer sampled
+    private final ZIndexTransformer mTransformer;
+    //card item without view, written by the transformer while sampling
+    private final CardItem mProbe = new CardItem(null, 0, 0);
+    //sample count between fraction 0.0f and 1.0f
+    private final int mSampleCount;
+    //keyframe tables of transformAnimation and transformInterpolatedAnimation
+    private final SparseArray<ZIndexTable> mTables = new SparseArray<>(),
+            mInterpolatedTables = new SparseArray<>();
+    //card size of the tables
+    private int mCardWidth, mCardHeight;
+
+    public BakedZIndexTransformer(ZIndexTransformer transformer) {
+        this(transformer, DEFAULT_SAMPLE_COUNT);
+    }
+
+    public BakedZIndexTransformer(ZIndexTransformer transformer, int sampleCount) {
+        this.mTransformer = transformer;
+        this.mSampleCount = Math.max(sampleCount, 1);
+    }
+
+    @Override
+    public void transformAnimation(CardItem card, float fraction, int cardWidth, int cardHeight,
+                                   int fromPosition, int toPosition) {
+        if (fraction < 0 || fraction > 1 || !getTable(mTables, false, cardWidth, cardHeight,
+                fromPosition, toPosition).apply(card, fraction)) {
+            mTransformer.transformAnimation(card, fraction, cardWidth, cardHeight, fromPosition,
+                    toPosition);
+        }
+    }
+
+    @Override
+    public void transformInterpolatedAnimation(CardItem card, float fraction, int cardWidth,
+                                               int cardHeight, int fromPosition, int toPosition) {
+        if (fraction < 0 || fraction > 1 || !getTable(mInterpolatedTables, true, cardWidth,
+                cardHeight, fromPosition, toPosition).apply(card, fraction)) {
+            mTransformer.transformInterpolatedAnimation(card, fraction, cardWidth, cardHeight,
+                    fromPosition, toPosition);
+        }
+    }
+
+    /**
+     * sample the table of a pair of positions if not sampled yet, called when an animation
+     * starts, so no table is sampled inside an animation frame
+     *
+     * @param interpolated whether the table of transformInterpolatedAnimation
+     * @param cardWidth    card width
+     * @param cardHeight   card height
+     * @param fromPosition card moving from
+     * @param toPosition   card moving to
+     */
+    void prepare(boolean interpolated, int cardWidth, int cardHeight, int fromPosition,
+                 int toPosition) {
+        getTable(interpolated ? mInterpolatedTables : mTables, interpolated, cardWidth,
+                cardHeight, fromPosition, toPosition);
+    }
+
+    /**
+     * drop all tables, they are sampled again on the next animation
+     */
+    public void invalidate() {
+        mTables.clear();
+        mInterpolatedTables.clear();
+    }
+
+    public ZIndexTransformer getTransformer() {
+        return mTransformer;
+    }
+
+    private ZIndexTable getTable(SparseArray<ZIndexTable> tables, boolean interpolated,
+                                 int cardWidth, int cardHeight, int fromPosition,
+                                 int toPosition) {
+        if (cardWidth != mCardWidth || cardHeight != mCardHeight) {
+            invalidate();
+            mCardWidth = cardWidth;
+            mCardHeight = cardHeight;
+        }
+        int key = (fromPosition << 16) | (toPosition & 0xffff);
+        ZIndexTable table = tables.get(key);
+        if (table == null) {
+            table = sample(interpolated, cardWidth, cardHeight, fromPosition, toPosition);
+            tables.put(key, table);
+        }
+        return table;
+    }
+
+    /**
+     * sample the transformer at each fraction, and in the middle of each two samples, to find
+     * out the intervals the transformer is not linear in
+     */
+    private ZIndexTable sample(boolean interpolated, int cardWidth, int cardHeight,
+                               int fromPosition, int toPosition) {
+        ZIndexTable table = new ZIndexTable(mSampleCount);
+        boolean written = false;
+        for (int i = 0; i <= mSampleCount; i++) {
+            float zIndex = sampleAt(interpolated, (float) i / mSampleCount, cardWidth,
+                    cardHeight, fromPosition, toPosition);
+            table.mValues[i] = zIndex;
+            written |= !Float.isNaN(zIndex);
+        }
+        if (!written) {
+            //the Z index is not written in any sample, the table applies nothing
+            table.mIsEmpty = true;
+            return table;
+        }
+        for (int i = 0; i < mSampleCount; i++) {
+            float middle = sampleAt(interpolated, (i + 0.5f) / mSampleCount, cardWidth,
+                    cardHeight, fromPosition, toPosition);
+            float start = table.mValues[i], end = table.mValues[i + 1];
+            float tolerance = LINEAR_TOLERANCE * Math.max(1, Math.max(Math.abs(start),
+                    Math.abs(end)));
+            //NaN is never within the tolerance, so the intervals the Z index is not written in
+            // are not linear either, and the transformer leaves the Z index as it does
+            if (!(Math.abs(middle - (start + end) * 0.5f) <= tolerance)) {
+                table.mDirect[i] = true;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * sample the transformer at a fraction
+     *
+     * @return Z index, NaN if not written
+     */
+    private float sampleAt(boolean interpolated, float fraction, int cardWidth, int cardHeight,
+                           int fromPosition, int toPosition) {
+        mProbe.zIndex = Float.NaN;
+        if (interpolated) {
+            mTransformer.transformInterpolatedAnimation(mProbe, fraction, cardWidth,
+                    cardHeight, fromPosition, toPosition);
+        } else {
+            mTransformer.transformAnimation(mProbe, fraction, cardWidth, cardHeight,
+                    fromPosition, toPosition);
+        }
+        return mProbe.zIndex;
+    }
+
+    /**
+     * Z index of each sample
+     */
+    private static class ZIndexTable {
+        private final float[] mValues;
+        //whether the transformer is not linear between each two samples, so it is called directly
+        private final boolean[] mDirect;
+        private final int mSampleCount;
+        //whether the Z index is not written in any sample
+        private boolean mIsEmpty;
+
+        ZIndexTable(int sampleCount) {
+            mSampleCount = sampleCount;
+            mValues = new float[sampleCount + 1];
+            mDirect = new boolean[sampleCount];
+        }
+
+        /**
+         * apply the Z index interpolated at the fraction
+         *
+         * @return false if the transformer is not linear around the fraction, so it should be
+         * called directly
+         */
+        boolean apply(CardItem card, float fraction) {
+            if (mIsEmpty) {
+                return true;
+            }
+            float position = fraction * mSampleCount;
+            int sample = Math.min((int) position, mSampleCount - 1);
+            if (mDirect[sample]) {
+                return false;
+            }
+            card.zIndex = mValues[sample] + (mValues[sample + 1] - mValues[sample]) *
+                    (position - sample);
+            return true;
+        }
+    }
+}
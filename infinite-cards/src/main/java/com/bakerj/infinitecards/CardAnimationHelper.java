@@ -1,8 +1,18 @@
 package com.bakerj.infinitecards;
 
+import android.content.Context;
+import android.graphics.Canvas;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.Log;
 import android.view.View;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.DecelerateInterpolator;
 import android.view.animation.Interpolator;
 import android.view.animation.LinearInterpolator;
+import android.widget.Adapter;
 import android.widget.BaseAdapter;
 
 import com.bakerj.infinitecards.transformer.DefaultCommonTransformer;
@@ -12,19 +22,24 @@ import com.bakerj.infinitecards.transformer.DefaultTransformerToBack;
 import com.bakerj.infinitecards.transformer.DefaultTransformerToFront;
 import com.bakerj.infinitecards.transformer.DefaultZIndexTransformerCommon;
 import com.bakerj.infinitecards.transformer.DefaultZIndexTransformerToFront;
-import com.nineoldandroids.animation.Animator;
-import com.nineoldandroids.animation.ValueAnimator;
 
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.concurrent.Executor;
 
 /**
  * @author BakerJ
  */
-class CardAnimationHelper implements Animator.AnimatorListener,
-        ValueAnimator.AnimatorUpdateListener {
+class CardAnimationHelper implements CardAnimator.Callback, CardCascade.Listener,
+        CardInflateTask.Callback {
     //animation duration
     static final int ANIM_DURATION = 1000, ANIM_ADD_REMOVE_DELAY = 200,
             ANIM_ADD_REMOVE_DURATION = 500;
+    //speed up factor of the animation finishing in advance for a retargeted request
+    private static final int RETARGET_SPEED_UP = 4;
+    //min duration of the animation settling a dragged card
+    private static final int SETTLE_MIN_DURATION = 100;
+    //log tag
+    private static final String TAG = "InfiniteCardView";
     //animation type
     private int mAnimType = InfiniteCardView.ANIM_TYPE_FRONT;
     //animation duration
@@ -33,9 +48,21 @@ class CardAnimationHelper implements Animator.AnimatorListener,
     //card container view
     private InfiniteCardView mCardView;
     //card item list
-    private LinkedList<CardItem> mCards;
+    private CardDeck mCards;
+    //cards removed from the adapter, bound with views until the remove animation ends
+    private CardDeck mLeavingCards = new CardDeck();
+    //drawing order of the card views by Z index
+    private ZIndexOrder mZIndexOrder = new ZIndexOrder();
     //total card count
     private int mCardCount;
+    //max count of the cards bound with views, 0 for binding all cards
+    private int mVisibleCardCount = 0;
+    //adapter bound with the cards
+    private BaseAdapter mAdapter;
+    //pool of the card views removed from the container
+    private CardViewPool mViewPool = new CardViewPool();
+    //hardware layers of the card views while animating
+    private CardLayerManager mLayerManager = new CardLayerManager();
     //card width, card height
     //for judge Z index
     //    private ArrayList<CardItem> mCards4JudgeZIndex;
@@ -47,19 +74,109 @@ class CardAnimationHelper implements Animator.AnimatorListener,
     //is doing animation now
     private boolean mIsAnim = false, mIsAddRemoveAnim = false;
     //animator
-    private ValueAnimator mValueAnimator;
+    private CardAnimator mAnimator;
+    //staggered animations of the cards added and removed, sharing one animator each
+    private CardCascade mAddCascade, mRemoveCascade;
+    //frame metrics of bringing card to front, recorded while the metrics listener is set
+    private AnimationMetrics mMetrics = new AnimationMetrics(AnimationMetrics.ANIMATION_TO_FRONT);
+    private AnimationMetricsListener mMetricsListener;
+    //interpolator of the animator, the one while finishing the animation in advance, and the
+    // one while settling a dragged card
+    private Interpolator mAnimatorInterpolator = new AccelerateDecelerateInterpolator(),
+            mRetargetInterpolator = new LinearInterpolator(),
+            mSettleInterpolator = new DecelerateInterpolator();
+    //policy of the requests received while animating
+    private int mRequestPolicy = InfiniteCardView.REQUEST_POLICY_DROP;
+    //requests received while animating
+    private CardRequestQueue mPendingRequests = new CardRequestQueue();
+    //is the card dragged by touch, is the animator changed from the default values for finishing
+    // in advance or settling a dragged card
+    private boolean mIsDragging = false, mIsAnimatorChanged = false;
+    //fraction the animator runs to, 0 while settling a dragged card back
+    private float mTargetFraction = 1;
     //custom animation transformer for card moving to front, card moving to back, and common card
     private AnimationTransformer mTransformerToFront, mTransformerToBack, mTransformerCommon;
     //custom animation transformer for card add and remove
     private AnimationTransformer mTransformerAnimAdd, mTransformerAnimRemove;
+    //common transformer adapted for capturing the shapes, created while drawing the shapes
+    private CardTransformer mShapeTransformer;
     //custom Z index transformer for card moving to front, card moving to back, and common card
     private ZIndexTransformer mZIndexTransformerToFront, mZIndexTransformerToBack, mZIndexTransformerCommon;
     //animation interpolator
     private Interpolator mAnimInterpolator, mAnimAddRemoveInterpolator;
-    //view adapter needs to be notify while animation
+    //view adapter needs to be notify while animation, or on the next frame
     private BaseAdapter mTempAdapter;
+    //whether the adapter notified is flushed on the next frame
+    private boolean mIsDataSetChangedQueued = false;
+    //adapter set after the remove animation
+    private BaseAdapter mNextAdapter;
+    //count of the cards surviving the diffing, laid out after the remove animation
+    private int mDiffKeptCount;
+    //whether the surviving cards are rebound after the remove animation
+    private boolean mDiffRebind;
+    //card of each adapter index, rebuilt while invalid
+    private CardItem[] mAdapterIndexCards = new CardItem[0];
+    private boolean mAdapterIndexValid = false;
     //current animation fraction
     private float mCurrentFraction = 1;
+    //inflater and executor of the card views inflated asynchronously, the cards are bound on the
+    // main thread while not set
+    private AsyncCardInflater mAsyncInflater;
+    private Executor mInflateExecutor;
+    private Handler mMainHandler;
+    //generation of the inflations, the views inflated for an older generation are dropped
+    private int mInflateGeneration;
+    //inflations arrived by position, attached in order of the positions
+    private CardInflateTask[] mInflatedTasks = new CardInflateTask[0];
+    //next position to attach, count of the cards waiting for their views
+    private int mNextInflatedPosition, mInflatingCount;
+    //prefetcher of the cards coming next, count of the cards prefetched each time
+    private CardPrefetcher mPrefetcher;
+    private int mPrefetchCount;
+    //adapter indexes prefetched last time and this time, the cards prefetched last time are not
+    // prefetched again
+    private int[] mPrefetchedIndexes = new int[0], mPrefetchingIndexes = new int[0];
+    private boolean mIsPrefetchQueued = false;
+    //snapshots of the cards deep in the stack, depth of the first card snapshotted, 0 for no
+    // snapshot
+    private CardSnapshotManager mSnapshotManager = new CardSnapshotManager();
+    private int mSnapshotDepth = 0;
+    //whether the snapshots are synced again after the next layout, as some card views are not
+    // laid out yet
+    private boolean mIsSnapshotQueued = false, mIsSnapshotPending = false;
+    //shapes drawn instead of the card views deep in the stack, depth of the first card drawn by
+    // a shape, 0 for no shape
+    private CardShapeRenderer mShapeRenderer = new CardShapeRenderer();
+    private int mShapeDepth = 0;
+    //sync the snapshots once the main thread is idle, so the card views are laid out
+    private final MessageQueue.IdleHandler mSnapshotIdleHandler =
+            new MessageQueue.IdleHandler() {
+                @Override
+                public boolean queueIdle() {
+                    mIsSnapshotQueued = false;
+                    syncSnapshots();
+                    return false;
+                }
+            };
+    //rebind the cards once on the next frame, for all the notifications received in this frame
+    private final Runnable mDataSetChangedRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIsDataSetChangedQueued = false;
+            if (!mIsAnim && !mIsAddRemoveAnim) {
+                flushDataSetChanged();
+            }
+        }
+    };
+    //prefetch once the main thread is idle after an animation
+    private final MessageQueue.IdleHandler mPrefetchIdleHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            mIsPrefetchQueued = false;
+            prefetch();
+            return false;
+        }
+    };
 
     CardAnimationHelper(int mAnimType, int mAnimDuration, InfiniteCardView infiniteCardView) {
         this.mAnimType = mAnimType;
@@ -86,19 +203,32 @@ class CardAnimationHelper implements Animator.AnimatorListener,
      * setup animator
      */
     private void initAnimator() {
-        mValueAnimator = ValueAnimator.ofFloat(0, 1).setDuration(mAnimDuration);
-        mValueAnimator.addUpdateListener(this);
-        mValueAnimator.addListener(this);
+        Context context = mCardView.getContext();
+        mAnimator = CardAnimator.create(context, this);
+        mAddCascade = new CardCascade(context, true, this);
+        mRemoveCascade = new CardCascade(context, false, this);
     }
 
     /**
      * do animation while update
      *
-     * @param animation animation
+     * @param animator animator
+     * @param value    animation fraction
      */
     @Override
-    public void onAnimationUpdate(ValueAnimator animation) {
-        mCurrentFraction = (float) animation.getAnimatedValue();
+    public void onAnimationFrame(CardAnimator animator, float value) {
+        mMetrics.beginFrame();
+        updateFraction(value);
+        mMetrics.endFrame();
+    }
+
+    /**
+     * update the cards by the animation fraction, from the animator or the dragging touch
+     *
+     * @param fraction animation progress from 0.0f to 1.0f
+     */
+    private void updateFraction(float fraction) {
+        mCurrentFraction = fraction;
         float fractionInterpolated = mCurrentFraction;
         if (mAnimInterpolator != null) {
             fractionInterpolated = mAnimInterpolator.getInterpolation(mCurrentFraction);
@@ -107,6 +237,7 @@ class CardAnimationHelper implements Animator.AnimatorListener,
         doAnimationFrontToBack(mCurrentFraction, fractionInterpolated);
         doAnimationCommon(mCurrentFraction, fractionInterpolated);
         bringToFrontByZIndex();
+        invalidateShapes();
     }
 
     /**
@@ -116,14 +247,14 @@ class CardAnimationHelper implements Animator.AnimatorListener,
      * @param fractionInterpolated interpolated animation progress
      */
     private void doAnimationBackToFront(float fraction, float fractionInterpolated) {
-        mTransformerToFront.transformAnimation(mCardToFront.view,
-                fraction, mCardWidth, mCardHeight, mPositionToFront, 0);
+        runTransformer(mTransformerToFront, mCardToFront, false, fraction, mPositionToFront, 0);
         if (mAnimInterpolator != null) {
-            mTransformerToFront.transformInterpolatedAnimation(mCardToFront.view,
-                    fractionInterpolated, mCardWidth, mCardHeight, mPositionToFront, 0);
+            runTransformer(mTransformerToFront, mCardToFront, true,
+                    fractionInterpolated, mPositionToFront, 0);
         }
         doAnimationZIndex(mZIndexTransformerToFront, mCardToFront, fraction, fractionInterpolated,
                 mPositionToFront, 0);
+        applyTransform(mCardToFront);
     }
 
     /**
@@ -136,14 +267,14 @@ class CardAnimationHelper implements Animator.AnimatorListener,
         if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT) {
             return;
         }
-        mTransformerToBack.transformAnimation(mCardToBack.view, fraction, mCardWidth,
-                mCardHeight, 0, mPositionToBack);
+        runTransformer(mTransformerToBack, mCardToBack, false, fraction, 0, mPositionToBack);
         if (mAnimInterpolator != null) {
-            mTransformerToBack.transformInterpolatedAnimation(mCardToBack.view,
-                    fractionInterpolated, mCardWidth, mCardHeight, 0, mPositionToBack);
+            runTransformer(mTransformerToBack, mCardToBack, true,
+                    fractionInterpolated, 0, mPositionToBack);
         }
         doAnimationZIndex(mZIndexTransformerToBack, mCardToBack, fraction, fractionInterpolated,
                 0, mPositionToBack);
+        applyTransform(mCardToBack);
     }
 
     /**
@@ -153,40 +284,107 @@ class CardAnimationHelper implements Animator.AnimatorListener,
      * @param fractionInterpolated interpolated animation progress
      */
     private void doAnimationCommon(float fraction, float fractionInterpolated) {
+        int windowEnd = getWindowEnd();
         if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT) {
-            for (int i = 0; i < mPositionToFront; i++) {
+            for (int i = 0, end = Math.min(mPositionToFront, windowEnd); i < end; i++) {
                 CardItem card = mCards.get(i);
-                doAnimationCommonView(card.view, fraction, fractionInterpolated, i, i + 1);
+                if (card.view == null) {
+                    continue;
+                }
                 doAnimationZIndex(mZIndexTransformerCommon, card, fraction, fractionInterpolated,
                         i, i + 1);
+                doAnimationCommonCard(card, fraction, fractionInterpolated, i, i + 1);
             }
         } else if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST) {
-            for (int i = mPositionToFront + 1; i < mCardCount; i++) {
+            for (int i = mPositionToFront + 1; i < windowEnd; i++) {
                 CardItem card = mCards.get(i);
-                doAnimationCommonView(card.view, fraction, fractionInterpolated, i, i - 1);
+                if (card.view == null) {
+                    continue;
+                }
                 doAnimationZIndex(mZIndexTransformerCommon, card, fraction, fractionInterpolated,
                         i, i - 1);
+                doAnimationCommonCard(card, fraction, fractionInterpolated, i, i - 1);
             }
         }
     }
 
     /**
-     * do animation for common card views
+     * do animation for common cards, the Z index of the card is calculated before
      *
-     * @param view                 card view
+     * @param card                 card item
      * @param fraction             animation progress from 0.0f to 1.0f
      * @param fractionInterpolated interpolated animation progress
      * @param fromPosition         card moving from
      * @param toPosition           card moving to
      */
-    private void doAnimationCommonView(View view, float fraction, float fractionInterpolated, int
-            fromPosition, int toPosition) {
-        mTransformerCommon.transformAnimation(view, fraction, mCardWidth,
-                mCardHeight, fromPosition, toPosition);
+    private void doAnimationCommonCard(CardItem card, float fraction, float fractionInterpolated,
+                                       int fromPosition, int toPosition) {
+        runTransformer(mTransformerCommon, card, false, fraction, fromPosition, toPosition);
         if (mAnimInterpolator != null) {
-            mTransformerCommon.transformInterpolatedAnimation(view, fractionInterpolated, mCardWidth,
+            runTransformer(mTransformerCommon, card, true, fractionInterpolated, fromPosition,
+                    toPosition);
+        }
+        applyTransform(card);
+    }
+
+    /**
+     * transform the card by an animation transformer, the card transformers write the transform
+     * of the card without its view, the other transformers transform the card view itself, with
+     * the transform applied before and read back after, so the properties not in the transform,
+     * the size and the tag of the card view are seen by the transformer as before
+     *
+     * @param transformer  animation transformer
+     * @param card         card item
+     * @param interpolated whether to call transformInterpolatedAnimation
+     * @param fraction     animation progress, interpolated for transformInterpolatedAnimation
+     * @param fromPosition card moving from
+     * @param toPosition   card moving to
+     */
+    private void runTransformer(AnimationTransformer transformer, CardItem card,
+                                boolean interpolated, float fraction, int fromPosition,
+                                int toPosition) {
+        CardTransformer cardTransformer = CardTransformerAdapter.asCardTransformer(transformer);
+        if (cardTransformer != null) {
+            if (interpolated) {
+                cardTransformer.transformInterpolatedAnimation(card.transform, fraction,
+                        mCardWidth, mCardHeight, fromPosition, toPosition);
+            } else {
+                cardTransformer.transformAnimation(card.transform, fraction, mCardWidth,
+                        mCardHeight, fromPosition, toPosition);
+            }
+            return;
+        }
+        applyTransform(card);
+        if (interpolated) {
+            transformer.transformInterpolatedAnimation(card.view, fraction, mCardWidth,
                     mCardHeight, fromPosition, toPosition);
+        } else {
+            transformer.transformAnimation(card.view, fraction, mCardWidth, mCardHeight,
+                    fromPosition, toPosition);
         }
+        //the view is written already, so it is not written again while applying
+        card.transform.read(card.view);
+        card.appliedTransform.read(card.view);
+    }
+
+    /**
+     * layout a card in the specific position by the common transformers
+     *
+     * @param card     card item
+     * @param position position
+     * @param reset    whether the view of the card is just bound, so its transform is reset to
+     *                 the properties of a card view not transformed
+     */
+    private void transformCard(CardItem card, int position, boolean reset) {
+        if (reset) {
+            card.transform.reset();
+            card.appliedView = null;
+        }
+        mZIndexTransformerCommon.transformAnimation(card, mCurrentFraction, mCardWidth,
+                mCardHeight, position, position);
+        card.transform.zIndex = card.zIndex;
+        runTransformer(mTransformerCommon, card, false, mCurrentFraction, position, position);
+        applyTransform(card);
     }
 
     /**
@@ -207,147 +405,185 @@ class CardAnimationHelper implements Animator.AnimatorListener,
             transformer.transformInterpolatedAnimation(card, fractionInterpolated, mCardWidth,
                     mCardHeight, fromPosition, toPosition);
         }
+        card.transform.zIndex = card.zIndex;
+    }
+
+    /**
+     * apply the transform of the card to its view, only the properties changed since the last
+     * time are written, unless the view changed, the Z index changes are recorded for the drawing
+     * order
+     *
+     * @param card card item
+     */
+    private void applyTransform(CardItem card) {
+        CardTransform transform = card.transform;
+        CardTransform applied = card.appliedTransform;
+        if (transform.zIndex != applied.zIndex) {
+            applied.zIndex = transform.zIndex;
+            mZIndexOrder.onZIndexChanged(card);
+        }
+        if (card.appliedView != card.view) {
+            transform.apply(card.view);
+            applied.set(transform);
+            card.appliedView = card.view;
+        } else {
+            transform.applyChanged(card.view, applied);
+        }
     }
 
     /**
      * bring card to front by Z index, the card with smaller Z index is in front of the card with
-     * bigger Z index
+     * bigger Z index, the drawing order of the card container is updated instead of calling
+     * bringToFront for the card views, so only invalidate is needed while the order changed
      */
     private void bringToFrontByZIndex() {
-        if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT) {
-            //if the animation type is ANIM_TYPE_FRONT, which means other cards are under common
-            // animation, so start cycling the card items from the position before the moving
-            // card, and while the moving card's Z index is smaller than an other card, we
-            // call bringToFront for it, otherwise we call bringToFront for other cards
-            for (int i = mPositionToFront - 1; i >= 0; i--) {
-                CardItem card = mCards.get(i);
-                if (card.zIndex > mCardToFront.zIndex) {
-                    mCardToFront.view.bringToFront();
-                    mCardView.updateViewLayout(mCardToFront.view, mCardToFront.view.getLayoutParams());
-                } else {
-                    card.view.bringToFront();
-                    mCardView.updateViewLayout(card.view, card.view.getLayoutParams());
-                }
-            }
-        } else {
-            //sort the card items by Z index and call bringToFront foreach view
-//            Collections.sort(mCards4JudgeZIndex, this);
-//            for (int i = mCardCount - 1; i >= 0; i--) {
-//                mCards4JudgeZIndex.get(i).view.bringToFront();
-//            }
-            //##########################for better performance#########################
-            boolean cardToFrontBrought = false;//is card moving to front called bringToFront
-            //cycling the card items
-            for (int i = mCardCount - 1; i > 0; i--) {
-                CardItem card = mCards.get(i);
-                //get the card before current card
-                CardItem cardPre = i > 1 ? mCards.get(i - 1) : null;
-                //is card moving to back behind the card before current card
-                boolean cardToBackBehindCardPre = cardPre == null ||
-                        mCardToBack.zIndex > cardPre.zIndex;
-                //if the card moving to back Z index is smaller than current card, and is behind
-                // the card before current card, we should call bringToFront for it
-                boolean bringCardToBackViewToFront = mCardToBack.zIndex < card.zIndex && cardToBackBehindCardPre;
-                //is card moving to front behind the current card
-                boolean cardToFrontBehindCardPre = cardPre == null ||
-                        mCardToFront.zIndex > cardPre.zIndex;
-                //if the card moving to front Z index is smaller than current card, and is behind
-                // the card before current card, we should call bringToFront for it
-                boolean bringCardToFrontViewToFront = mCardToFront.zIndex < card.zIndex && cardToFrontBehindCardPre;
-                //if current card is not the card moving to front
-                if (i != mPositionToFront) {
-                    //call bringToFront for it
-                    card.view.bringToFront();
-                    mCardView.updateViewLayout(card.view, card.view.getLayoutParams());
-                    //if we should bring the card moving to back to front, just do it
-                    if (bringCardToBackViewToFront) {
-                        mCardToBack.view.bringToFront();
-                        mCardView.updateViewLayout(mCardToBack.view, mCardToBack.view.getLayoutParams());
-                    }
-                    //if we should bring the card moving to front to front, just do it
-                    if (bringCardToFrontViewToFront) {
-                        mCardToFront.view.bringToFront();
-                        mCardView.updateViewLayout(mCardToFront.view, mCardToFront.view.getLayoutParams());
-                        cardToFrontBrought = true;
-                    }
-                    //if we has both bring the card moving to front and back to front, and the
-                    // card moving to back Z index is smaller than the card moving to front Z
-                    // index, we call bringToFront for the card moving to back
-                    if (bringCardToBackViewToFront && bringCardToFrontViewToFront &&
-                            mCardToBack.zIndex < mCardToFront.zIndex) {
-                        mCardToBack.view.bringToFront();
-                        mCardView.updateViewLayout(mCardToBack.view, mCardToBack.view.getLayoutParams());
-                    }
-                } else {
-                    //if current card is the card moving to front, and behind the card before
-                    if (cardToFrontBehindCardPre) {
-                        mCardToFront.view.bringToFront();
-                        mCardView.updateViewLayout(mCardToFront.view, mCardToFront.view.getLayoutParams());
-                        cardToFrontBrought = true;
-                        //if the card moving to back Z index is smaller than the card moving to
-                        // front, call bringToFront for it
-                        if (cardToBackBehindCardPre && mCardToBack.zIndex < mCardToFront.zIndex) {
-                            mCardToBack.view.bringToFront();
-                            mCardView.updateViewLayout(mCardToBack.view, mCardToBack.view.getLayoutParams());
-                        }
-                    }
-                }
-            }
-            // it the card moving to front has not call bringToFront yet, which means it is
-            // already in the first position, call bringToFront for it
-            if (!cardToFrontBrought) {
-                mCardToFront.view.bringToFront();
-                mCardView.updateViewLayout(mCardToFront.view, mCardToFront.view.getLayoutParams());
-            }
+        if (mZIndexOrder.sortChanged()) {
+            mCardView.invalidate();
         }
     }
 
-    @Override
-    public void onAnimationStart(Animator animation) {
-        mCurrentFraction = 0;
+    /**
+     * before Lollipop, touch events are dispatched by child index rather than drawing order, so
+     * sync the child order with the drawing order once the animation ends, the views are moved
+     * without bringToFront, which requests layout of the container and all its ancestors
+     */
+    private void syncChildOrder() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            return;
+        }
+        for (int i = 0; i < mZIndexOrder.size(); i++) {
+            mCardView.moveCardViewToTop(mZIndexOrder.get(i).view);
+        }
+        mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
     }
 
     /**
      * animation end
      *
-     * @param animation animation
+     * @param animator animator
      */
     @Override
-    public void onAnimationEnd(Animator animation) {
+    public void onAnimationEnd(CardAnimator animator) {
+        //reported before the pending requests start the next animation
+        if (mMetrics.end() && mMetricsListener != null) {
+            mMetricsListener.onAnimationMetrics(mMetrics);
+        }
+        mLayerManager.restoreAll();
+        //the dragged card settled back leaves the order of the cards unchanged
+        if (mTargetFraction != 0) {
+            reorderCards();
+        } else {
+            layoutSettledCards();
+        }
+        finishAnimation();
+    }
+
+    /**
+     * layout the cards moved by the dragging in their positions at rest after settling back, as
+     * the to front and to back transformers at fraction 0 may not be the pose at rest, the
+     * transforms are reset, as the common transformer does not write all properties the others
+     * write, such as the rotation of the card to front
+     */
+    private void layoutSettledCards() {
+        mCurrentFraction = 1;
+        if (mCardToFront.view != null) {
+            transformCard(mCardToFront, mPositionToFront, true);
+        }
+        if (mAnimType != InfiniteCardView.ANIM_TYPE_FRONT && mCardToBack.view != null) {
+            transformCard(mCardToBack, 0, true);
+        }
+        bringToFrontByZIndex();
+    }
+
+    /**
+     * reorder the cards after the card is brought to front by the animation type
+     */
+    private void reorderCards() {
         if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT) {
             //move the card moving to front to the first position
-            mCards.remove(mPositionToFront);
-            mCards.addFirst(mCardToFront);
+            mCards.moveToFront(mPositionToFront);
         } else if (mAnimType == InfiniteCardView.ANIM_TYPE_SWITCH) {
             //switch the position of the card moving to front and back
-            mCards.remove(mPositionToFront);
-            mCards.removeFirst();
-            mCards.addFirst(mCardToFront);
-            mCards.add(mPositionToFront, mCardToBack);
+            mCards.switchWithFirst(mPositionToFront);
         } else {
             //moving the first position card to last
-            mCards.remove(mPositionToFront);
-            mCards.removeFirst();
-            mCards.addFirst(mCardToFront);
-            mCards.addLast(mCardToBack);
+            mCards.moveFirstToLast(mPositionToFront);
         }
+    }
+
+    /**
+     * finish the animation bringing card to front, or settling the dragged card back, then
+     * handle the changes and the requests received while animating
+     */
+    private void finishAnimation() {
+        syncWindow(Math.min(mCardCount, getViewCardCount() + 2));
+        syncChildOrder();
         mPositionToFront = 0;
         mPositionToBack = 0;
         mCurrentFraction = 1;
         mIsAnim = false;
-        if (mTempAdapter != null) {
-            notifyDataSetChanged(mTempAdapter);
-        }
+        resetAnimator();
+        flushDataSetChanged();
+        handlePendingRequests();
+        schedulePrefetch();
+        scheduleSnapshots();
     }
 
-    @Override
-    public void onAnimationCancel(Animator animation) {
+    /**
+     * prefetch the cards coming next once the main thread is idle
+     */
+    private void schedulePrefetch() {
+        //all cards are bound, their content is loaded already
+        if (mPrefetcher == null || mPrefetchCount <= 0 || mIsPrefetchQueued ||
+                getBoundCount() >= mCardCount) {
+            return;
+        }
+        mIsPrefetchQueued = true;
+        Looper.myQueue().addIdleHandler(mPrefetchIdleHandler);
+    }
 
+    /**
+     * prefetch the cards coming next in the deck order, which are the cards right behind the
+     * visible window, as they are bound next, the cards bound are not prefetched
+     */
+    private void prefetch() {
+        //the next animation prefetches again after it ends
+        if (mPrefetcher == null || mCards == null || mIsAnim || mIsAddRemoveAnim) {
+            return;
+        }
+        int start = getBoundCount();
+        int count = Math.max(Math.min(mPrefetchCount, mCardCount - start), 0);
+        for (int i = 0; i < count; i++) {
+            int adapterIndex = mCards.get(start + i).adapterIndex;
+            mPrefetchingIndexes[i] = adapterIndex;
+            if (!isPrefetched(adapterIndex)) {
+                mPrefetcher.onPrefetch(adapterIndex);
+            }
+        }
+        for (int i = count; i < mPrefetchingIndexes.length; i++) {
+            mPrefetchingIndexes[i] = -1;
+        }
+        int[] prefetched = mPrefetchedIndexes;
+        mPrefetchedIndexes = mPrefetchingIndexes;
+        mPrefetchingIndexes = prefetched;
     }
 
-    @Override
-    public void onAnimationRepeat(Animator animation) {
+    private boolean isPrefetched(int adapterIndex) {
+        for (int i = 0; i < mPrefetchedIndexes.length; i++) {
+            if (mPrefetchedIndexes[i] == adapterIndex) {
+                return true;
+            }
+        }
+        return false;
+    }
 
+    /**
+     * forget the cards prefetched, as the adapter may bind other content for the same index
+     */
+    private void resetPrefetched() {
+        for (int i = 0; i < mPrefetchedIndexes.length; i++) {
+            mPrefetchedIndexes[i] = -1;
+        }
     }
 
     /**
@@ -356,15 +592,31 @@ class CardAnimationHelper implements Animator.AnimatorListener,
      * @param adapter adapter
      */
     void initAdapterView(BaseAdapter adapter, boolean reset) {
+        if (reset) {
+            //the notifications of the previous adapter are dropped
+            mTempAdapter = null;
+        }
         if (mCardWidth > 0 && mCardHeight > 0) {
+            resetPrefetched();
+            //the adapter indexes of the snapshots may be changed
+            mSnapshotManager.clear();
+            if (mCards != null && mInflatingCount > 0) {
+                //the cards waiting for their views are set from the start
+                mAddCascade.cancel();
+                mIsAddRemoveAnim = false;
+                recycleAllCardViews();
+            }
             if (mCards == null) {
                 mCardView.removeAllViews();
                 firstSetAdapter(adapter);
+            } else if (!reset && adapter.hasStableIds()) {
+                diffAdapter(adapter);
             } else if (reset || mCards.size() != adapter.getCount()) {
                 resetAdapter(adapter);
             } else {
                 notifySetAdapter(adapter);
             }
+            scheduleSnapshots();
         }
     }
 
@@ -374,71 +626,110 @@ class CardAnimationHelper implements Animator.AnimatorListener,
      * @param adapter adapter
      */
     private void resetAdapter(BaseAdapter adapter) {
-        if (mTransformerAnimRemove == null) {
-            mCardView.removeAllViews();
+        int boundCount = getBoundCount();
+        if (mTransformerAnimRemove == null || boundCount == 0) {
+            recycleAllCardViews();
             firstSetAdapter(adapter);
         } else {
             mIsAddRemoveAnim = true;
-            for (int i = 0; i < mCardCount; i++) {
+            mNextAdapter = adapter;
+            mRemoveCascade.setDuration(mAnimAddRemoveDuration);
+            for (int i = 0; i < boundCount; i++) {
                 CardItem cardItem = mCards.get(i);
-                showAnimRemove(cardItem.view, mAnimAddRemoveDelay * i, i, i == mCardCount - 1, adapter);
+                mLayerManager.promote(cardItem.view);
+                addToCascade(mRemoveCascade, cardItem, i, mAnimAddRemoveDelay * i);
             }
         }
     }
 
-    private void showAnimRemove(final View view, int delay, final int position,
-                                final boolean isLast, final BaseAdapter adapter) {
-        final ValueAnimator valueAnimator = ValueAnimator.ofFloat(0, 1).setDuration(mAnimAddRemoveDuration);
-        valueAnimator.setStartDelay(delay);
-        valueAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                float fraction = (float) animation.getAnimatedValue();
-                mTransformerAnimRemove.transformAnimation(view, fraction, mCardWidth, mCardHeight,
-                        position, position);
-                if (mAnimAddRemoveInterpolator != null) {
-                    mTransformerAnimRemove.transformInterpolatedAnimation(view,
-                            mAnimAddRemoveInterpolator.getInterpolation(fraction),
-                            mCardWidth, mCardHeight, position, position);
-                }
+    /**
+     * diff the item ids of the adapter with stable ids against the cards, only the cards removed
+     * and inserted are animated, the surviving cards keep their order, the inserted cards are
+     * added to the back
+     *
+     * @param adapter adapter
+     */
+    private void diffAdapter(BaseAdapter adapter) {
+        int count = adapter.getCount();
+        HashMap<Long, Integer> indexes = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            indexes.put(adapter.getItemId(i), i);
+        }
+        boolean[] kept = new boolean[count];
+        int removedCount = 0;
+        for (int position = mCards.size() - 1; position >= 0; position--) {
+            CardItem card = mCards.get(position);
+            Integer index = indexes.get(card.itemId);
+            if (index != null && !kept[index]) {
+                card.adapterIndex = index;
+                kept[index] = true;
+                continue;
             }
-        });
-        valueAnimator.addListener(new Animator.AnimatorListener() {
-            @Override
-            public void onAnimationStart(Animator animation) {
-
+            mCards.remove(position);
+            if (card.view == null) {
+                continue;
             }
-
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                view.setVisibility(View.GONE);
-                if (isLast) {
-                    mIsAddRemoveAnim = false;
-                    mCardView.removeAllViews();
-                    if (mTempAdapter != null) {
-                        notifyDataSetChanged(mTempAdapter);
-                    } else {
-                        firstSetAdapter(adapter);
-                    }
-                }
+            if (mTransformerAnimRemove == null) {
+                unbindCardView(card);
+                continue;
             }
-
-            @Override
-            public void onAnimationCancel(Animator animation) {
-
+            mLeavingCards.addLast(card);
+            mLayerManager.promote(card.view);
+            mRemoveCascade.setDuration(mAnimAddRemoveDuration);
+            addToCascade(mRemoveCascade, card, position, mAnimAddRemoveDelay * removedCount++);
+        }
+        int keptCount = mCards.size();
+        for (int i = 0; i < count; i++) {
+            if (!kept[i]) {
+                CardItem card = new CardItem(null, 0, i);
+                card.itemId = adapter.getItemId(i);
+                mCards.addLast(card);
             }
+        }
+        mAdapter = adapter;
+        mCardCount = count;
+        mAdapterIndexValid = false;
+        if (removedCount > 0) {
+            mIsAddRemoveAnim = true;
+            mDiffKeptCount = keptCount;
+            mDiffRebind = true;
+            mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+        } else {
+            layoutDiffedCards(keptCount, true);
+        }
+    }
 
-            @Override
-            public void onAnimationRepeat(Animator animation) {
-
+    /**
+     * layout the cards in their positions after diffing, the surviving cards are rebound, and
+     * the inserted cards inside the visible window are animated by the add transformer
+     *
+     * @param keptCount count of the surviving cards, which are before the inserted cards
+     * @param rebind    whether the surviving cards are rebound with the adapter
+     */
+    private void layoutDiffedCards(int keptCount, boolean rebind) {
+        syncWindow(mCardCount);
+        for (int i = 0; i < keptCount; i++) {
+            CardItem card = mCards.get(i);
+            if (card.view == null) {
+                continue;
             }
-        });
-        mCardView.post(new Runnable() {
-            @Override
-            public void run() {
-                valueAnimator.start();
+            transformCard(card, i, false);
+        }
+        int boundCount = getBoundCount();
+        mAddCascade.setDuration(mAnimAddRemoveDuration);
+        for (int i = keptCount; i < boundCount; i++) {
+            CardItem card = mCards.get(i);
+            if (mTransformerAnimAdd != null) {
+                mIsAddRemoveAnim = true;
+                card.view.setVisibility(View.INVISIBLE);
+                showAnimAdd(card, (i - keptCount) * mAnimAddRemoveDelay, i);
             }
-        });
+        }
+        if (rebind) {
+            notifySetAdapter(mAdapter);
+        } else {
+            mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+        }
     }
 
     /**
@@ -447,185 +738,1209 @@ class CardAnimationHelper implements Animator.AnimatorListener,
      * @param adapter adapter
      */
     private void firstSetAdapter(BaseAdapter adapter) {
-        if (mTransformerAnimAdd != null) {
-            mIsAddRemoveAnim = true;
-        }
-        mCards = new LinkedList<>();
+        mAdapter = adapter;
+        mCards = new CardDeck(adapter.getCount());
 //            mCards4JudgeZIndex = new ArrayList<>();
         mCardCount = adapter.getCount();
+        mAdapterIndexValid = false;
+        int boundCount = getBoundCount();
+        boolean async = mAsyncInflater != null && mInflateExecutor != null && boundCount > 0;
+        if ((mTransformerAnimAdd != null || async) && boundCount > 0) {
+            mIsAddRemoveAnim = true;
+        }
+        mAddCascade.setDuration(mAnimAddRemoveDuration);
+        mViewPool.setAdapter(adapter);
         for (int i = mCardCount - 1; i >= 0; i--) {
-            View child = adapter.getView(i, null, mCardView);
-            CardItem cardItem = new CardItem(child, 0, i);
-            mCardView.addCardView(cardItem);
-            mZIndexTransformerCommon.transformAnimation(cardItem, mCurrentFraction, mCardWidth, mCardHeight, i, i);
-            mTransformerCommon.transformAnimation(child, mCurrentFraction, mCardWidth, mCardHeight, i, i);
+            CardItem cardItem = new CardItem(null, 0, i);
+            cardItem.itemId = adapter.getItemId(i);
             mCards.addFirst(cardItem);
 //                mCards4JudgeZIndex.add(cardItem);
-            child.setVisibility(View.INVISIBLE);
-            showAnimAdd(child, i * mAnimAddRemoveDelay, i, i == mCardCount - 1);
-        }
-    }
-
-    private void showAnimAdd(final View view, int delay, final int position, final boolean isLast) {
-        if (mTransformerAnimAdd == null) {
-            return;
-        }
-        final ValueAnimator valueAnimator = ValueAnimator.ofFloat(0, 1).setDuration(mAnimAddRemoveDuration);
-        valueAnimator.setStartDelay(delay);
-        valueAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                float fraction = (float) animation.getAnimatedValue();
-                mTransformerAnimAdd.transformAnimation(view, fraction, mCardWidth, mCardHeight,
-                        position, position);
-                if (mAnimAddRemoveInterpolator != null) {
-                    mTransformerAnimAdd.transformInterpolatedAnimation(view,
-                            mAnimAddRemoveInterpolator.getInterpolation(fraction),
-                            mCardWidth, mCardHeight, position, position);
-                }
-            }
-        });
-        valueAnimator.addListener(new Animator.AnimatorListener() {
-            @Override
-            public void onAnimationStart(Animator animation) {
-                view.setVisibility(View.VISIBLE);
+            //cards outside the visible window are bound while moving into it
+            if (i >= boundCount) {
+                continue;
             }
-
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                if (isLast) {
-                    mIsAddRemoveAnim = false;
-                    if (mTempAdapter != null) {
-                        notifyDataSetChanged(mTempAdapter);
-                    }
+            //the cards with a scrap view in the pool are bound cheaply on the main thread
+            if (async && !mViewPool.hasScrap(adapter.getItemViewType(i))) {
+                bindPlaceholder(cardItem, i);
+                //the placeholder runs the add animation, the view inflated takes it over
+                if (mTransformerAnimAdd != null) {
+                    cardItem.view.setVisibility(View.INVISIBLE);
+                    showAnimAdd(cardItem, i * mAnimAddRemoveDelay, i);
                 }
+                continue;
             }
+            bindCardView(cardItem, i);
+            cardItem.view.setVisibility(View.INVISIBLE);
+            showAnimAdd(cardItem, i * mAnimAddRemoveDelay, i);
+        }
+        if (async) {
+            startInflation(boundCount);
+        }
+        mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+    }
 
-            @Override
-            public void onAnimationCancel(Animator animation) {
+    /**
+     * bind a placeholder view for the card waiting for its view inflated asynchronously
+     *
+     * @param card     card item
+     * @param position position
+     */
+    private void bindPlaceholder(CardItem card, int position) {
+        card.view = mCardView.createPlaceholderView();
+        //placeholders are not put into the pool
+        card.viewType = Adapter.IGNORE_ITEM_VIEW_TYPE;
+        mCardView.addCardView(card);
+        transformCard(card, position, true);
+    }
 
+    /**
+     * inflate the views of the cards bound with placeholders on the executor, in order of the
+     * positions, so the cards in front are ready first
+     *
+     * @param boundCount bound card count
+     */
+    private void startInflation(int boundCount) {
+        if (mMainHandler == null) {
+            mMainHandler = new Handler(Looper.getMainLooper());
+        }
+        mInflateGeneration++;
+        mInflatedTasks = new CardInflateTask[boundCount];
+        mNextInflatedPosition = 0;
+        mInflatingCount = 0;
+        for (int i = 0; i < boundCount; i++) {
+            CardItem card = mCards.get(i);
+            if (card.viewType != Adapter.IGNORE_ITEM_VIEW_TYPE) {
+                //bound with a scrap view already
+                continue;
             }
+            mInflatingCount++;
+            mInflateExecutor.execute(new CardInflateTask(mAsyncInflater, mCardView, mMainHandler,
+                    this, card, i, mAdapter.getItemViewType(card.adapterIndex),
+                    mInflateGeneration));
+        }
+        if (mInflatingCount == 0 && mTransformerAnimAdd == null) {
+            //all cards bound with scrap views
+            mIsAddRemoveAnim = false;
+        }
+    }
 
-            @Override
-            public void onAnimationRepeat(Animator animation) {
+    /**
+     * a card view is inflated on the executor
+     *
+     * @param task inflation task
+     */
+    @Override
+    public void onCardInflated(CardInflateTask task) {
+        if (task.generation != mInflateGeneration || mInflatingCount == 0) {
+            return;
+        }
+        mInflatedTasks[task.position] = task;
+        attachInflatedCards();
+    }
 
+    /**
+     * replace the placeholders with the views inflated, in order of the positions, a card
+     * inflated is attached after all cards in front of it are attached
+     */
+    private void attachInflatedCards() {
+        boolean changed = false;
+        while (mNextInflatedPosition < mInflatedTasks.length) {
+            CardItem card = mCards.get(mNextInflatedPosition);
+            if (card.viewType != Adapter.IGNORE_ITEM_VIEW_TYPE) {
+                mNextInflatedPosition++;
+                continue;
             }
-        });
-        mCardView.post(new Runnable() {
-            @Override
-            public void run() {
-                valueAnimator.start();
+            CardInflateTask task = mInflatedTasks[mNextInflatedPosition];
+            if (task == null) {
+                break;
             }
-        });
+            mInflatedTasks[mNextInflatedPosition] = null;
+            attachInflatedCard(task);
+            mNextInflatedPosition++;
+            mInflatingCount--;
+            changed = true;
+        }
+        if (changed) {
+            mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+        }
+        if (mInflatingCount == 0 && !mAddCascade.isRunning() && mIsAddRemoveAnim) {
+            //no add animation, or all cards added before the last one inflated
+            onCascadeEnd(mAddCascade);
+        }
     }
 
     /**
-     * notify
+     * bind the view inflated to the card in place of the placeholder, the view takes over the
+     * add animation of the placeholder from its current transform, so the card does not restart
+     * the animation
      *
-     * @param adapter adapter
+     * @param task inflation task
      */
-    private void notifySetAdapter(BaseAdapter adapter) {
-        mCardCount = adapter.getCount();
-        for (int i = 0; i < mCardCount; i++) {
-            CardItem cardItem = mCards.get(i);
-            View child = adapter.getView(cardItem.adapterIndex, cardItem.view, mCardView);
-            if (child != cardItem.view) {
-                if (cardItem.view != null) {
-                    mCardView.removeView(cardItem.view);
-                }
-                cardItem.view = child;
-                mCardView.addCardView(cardItem, i);
-                mZIndexTransformerCommon.transformAnimation(cardItem, mCurrentFraction, mCardWidth, mCardHeight,
-                        i, i);
-                mTransformerCommon.transformAnimation(child, mCurrentFraction, mCardWidth, mCardHeight, i, i);
-            }
+    private void attachInflatedCard(CardInflateTask task) {
+        CardItem card = task.card;
+        int position = task.position;
+        View placeholder = card.view;
+        int childIndex = mCardView.indexOfChild(placeholder);
+        mCardView.removeView(placeholder);
+        if (task.failure != null) {
+            //inflated by the adapter synchronously instead, the failure is not swallowed
+            Log.w(TAG, "async inflation of the card at position " + position + " failed, " +
+                    "inflated on the main thread instead", task.failure);
         }
-        for (int i = mCardCount - 1; i >= 0; i--) {
-            mCards.get(i).view.bringToFront();
-            mCardView.updateViewLayout(mCards.get(i).view, mCards.get(i).view.getLayoutParams());
+        View child = mAdapter.getView(card.adapterIndex, task.view, mCardView);
+        card.view = child;
+        card.viewType = task.viewType;
+        mCardView.addCardView(card, childIndex);
+        if (mTransformerAnimAdd == null) {
+            transformCard(card, position, true);
+            return;
+        }
+        //the add cascade animates the card view of the card, which is the view inflated now
+        child.setVisibility(placeholder.getVisibility());
+        card.appliedView = null;
+        applyTransform(card);
+        if (mAddCascade.isRunning()) {
+            mLayerManager.promote(child);
         }
     }
 
-    void notifyDataSetChanged(BaseAdapter adapter) {
-        if (mIsAnim || mIsAddRemoveAnim) {
-            mTempAdapter = adapter;
-        } else {
-            mTempAdapter = null;
-            initAdapterView(adapter, false);
+    /**
+     * stop the inflations, the views inflated later are dropped
+     */
+    private void cancelInflation() {
+        mInflateGeneration++;
+        for (int i = 0; i < mInflatedTasks.length; i++) {
+            mInflatedTasks[i] = null;
         }
+        mNextInflatedPosition = 0;
+        mInflatingCount = 0;
     }
 
-    void bringCardToFront(CardItem card) {
-        if (mCards == null || mTransformerCommon == null || mTransformerToFront ==
-                null || mTransformerToBack == null) {
+    private void showAnimAdd(CardItem card, int delay, int position) {
+        if (mTransformerAnimAdd == null) {
             return;
         }
-        int position = mCards.indexOf(card);
-        bringCardToFront(position);
+        mLayerManager.promote(card.view);
+        addToCascade(mAddCascade, card, position, delay);
     }
 
     /**
-     * bring the specific position card to front
+     * add a card to the add or remove cascade, the tables of a baked transformer for its position
+     * are sampled before
      *
-     * @param position position
+     * @param cascade  add or remove cascade
+     * @param card     card item
+     * @param position position of the card
+     * @param delay    delay of the card
      */
-    void bringCardToFront(int position) {
-        if (position >= 0 && position != mPositionToFront && !mIsAnim && !mIsAddRemoveAnim) {
-            mPositionToFront = position;
-            //if the animation type is not ANIM_TYPE_SWITCH, the card to back post is the last
-            // position
-            mPositionToBack = mAnimType == InfiniteCardView.ANIM_TYPE_SWITCH ? mPositionToFront :
-                    (mCardCount - 1);
-            mCardToBack = mCards.getFirst();
-            mCardToFront = mCards.get(mPositionToFront);
-            if (mValueAnimator.isRunning()) {
-                mValueAnimator.end();
-            }
-            mIsAnim = true;
-            mValueAnimator.start();
-        }
+    private void addToCascade(CardCascade cascade, CardItem card, int position, int delay) {
+        prepareBakedTables(cascade == mAddCascade ? mTransformerAnimAdd : mTransformerAnimRemove,
+                null, mAnimAddRemoveInterpolator != null, position, position);
+        cascade.add(card, position, delay);
     }
 
-//    @Override
-//    public int compare(CardItem o1, CardItem o2) {
-//        return o1.zIndex < o2.zIndex ? -1 : 1;
-//    }
-
-    void setCardSize(int cardWidth, int cardHeight) {
-        this.mCardWidth = cardWidth;
-        this.mCardHeight = cardHeight;
+    /**
+     * do animation for a card in the add or remove cascade
+     *
+     * @param cascade  add or remove cascade
+     * @param card     card item
+     * @param position position of the card
+     * @param fraction animation progress from 0.0f to 1.0f
+     */
+    @Override
+    public void onCascadeFrame(CardCascade cascade, CardItem card, int position, float fraction) {
+        AnimationTransformer transformer = cascade == mAddCascade ? mTransformerAnimAdd :
+                mTransformerAnimRemove;
+        runTransformer(transformer, card, false, fraction, position, position);
+        if (mAnimAddRemoveInterpolator != null) {
+            runTransformer(transformer, card, true,
+                    mAnimAddRemoveInterpolator.getInterpolation(fraction), position, position);
+        }
+        applyTransform(card);
     }
 
-    void setTransformerToFront(AnimationTransformer toFrontTransformer) {
-        if(mIsAnim || mIsAddRemoveAnim){
+    /**
+     * add or remove cascade end
+     *
+     * @param cascade add or remove cascade
+     */
+    @Override
+    public void onCascadeEnd(CardCascade cascade) {
+        mLayerManager.restoreAll();
+        if (cascade == mAddCascade && mInflatingCount > 0) {
+            //the cards still inflating continue the add animation
             return;
         }
-        this.mTransformerToFront = toFrontTransformer;
+        mIsAddRemoveAnim = false;
+        invalidateShapes();
+        if (cascade == mRemoveCascade && mNextAdapter == null) {
+            //the cards removed by diffing
+            for (int i = 0; i < mLeavingCards.size(); i++) {
+                unbindCardView(mLeavingCards.get(i));
+            }
+            mLeavingCards.clear();
+            if (mTempAdapter != null) {
+                //the adapter changed again while removing, so the adapter indexes of the cards
+                // may be stale, the cards are diffed again instead of rebound
+                flushDataSetChanged();
+            } else {
+                layoutDiffedCards(mDiffKeptCount, mDiffRebind);
+            }
+            if (mIsAddRemoveAnim) {
+                //the inserted cards are animating
+                return;
+            }
+            flushDataSetChanged();
+        } else if (cascade == mRemoveCascade) {
+            BaseAdapter adapter = mNextAdapter;
+            mNextAdapter = null;
+            recycleAllCardViews();
+            if (mTempAdapter != null) {
+                flushDataSetChanged();
+            } else {
+                firstSetAdapter(adapter);
+            }
+        } else {
+            flushDataSetChanged();
+        }
+        handlePendingRequests();
+        schedulePrefetch();
+        scheduleSnapshots();
     }
 
-    void setTransformerToBack(AnimationTransformer toBackTransformer) {
-        if(mIsAnim || mIsAddRemoveAnim){
+    /**
+     * rebind the cards in place, the card count is the count of the deck, an adapter changed to
+     * another count since the deck was built is diffed or reset instead
+     *
+     * @param adapter adapter
+     */
+    private void notifySetAdapter(BaseAdapter adapter) {
+        if (adapter.getCount() != mCards.size()) {
+            if (adapter.hasStableIds()) {
+                diffAdapter(adapter);
+            } else {
+                resetAdapter(adapter);
+            }
             return;
         }
-        this.mTransformerToBack = toBackTransformer;
+        mAdapter = adapter;
+        mCardCount = mCards.size();
+        int boundCount = getBoundCount();
+        for (int i = 0; i < boundCount; i++) {
+            CardItem cardItem = mCards.get(i);
+            if (cardItem.snapshot) {
+                //snapshotted again with the new content later
+                restoreSnapshot(cardItem, i);
+                continue;
+            }
+            if (cardItem.view == null) {
+                bindCardView(cardItem, i);
+            } else {
+                rebindCardView(cardItem, i);
+            }
+        }
+        mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+        syncChildOrder();
     }
 
-    void setCommonSwitchTransformer(AnimationTransformer commonTransformer) {
-        if(mIsAnim || mIsAddRemoveAnim){
+    /**
+     * mark the adapter changed, the cards are rebound once on the next frame for a burst of
+     * notifications, or after the animation while animating
+     *
+     * @param adapter adapter
+     */
+    void notifyDataSetChanged(BaseAdapter adapter) {
+        mTempAdapter = adapter;
+        if (mIsAnim || mIsAddRemoveAnim || mIsDataSetChangedQueued) {
             return;
         }
-        this.mTransformerCommon = commonTransformer;
+        mIsDataSetChangedQueued = true;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            mCardView.postOnAnimation(mDataSetChangedRunnable);
+        } else {
+            mCardView.post(mDataSetChangedRunnable);
+        }
     }
 
-    void setTransformerCommon(AnimationTransformer transformerCommon) {
-        if(mIsAnim || mIsAddRemoveAnim){
+    /**
+     * rebind the cards with the adapter notified, if any
+     */
+    private void flushDataSetChanged() {
+        if (mTempAdapter == null) {
             return;
         }
-        this.mTransformerCommon = transformerCommon;
+        BaseAdapter adapter = mTempAdapter;
+        mTempAdapter = null;
+        initAdapterView(adapter, false);
     }
 
-    void setZIndexTransformerToFront(ZIndexTransformer zIndexTransformerToFront) {
-        if(mIsAnim || mIsAddRemoveAnim){
+    /**
+     * rebind the cards of the specific adapter index range, only the cards bound with views are
+     * rebound, others are bound with the latest data while moving into the visible window
+     *
+     * @param adapterIndex first adapter index changed
+     * @param itemCount    count of the items changed
+     */
+    void notifyItemRangeChanged(int adapterIndex, int itemCount) {
+        if (mCards == null) {
+            return;
+        }
+        if (mIsAnim || mIsAddRemoveAnim || mInflatingCount > 0 || mTempAdapter != null) {
+            //the cards are rebound after the animation, after all views inflated, or by the
+            // rebind queued, so no view is swapped under a running transformer
+            notifyDataSetChanged(mAdapter);
+            return;
+        }
+        boolean changed = false;
+        for (int i = Math.max(adapterIndex, 0); i < Math.min(adapterIndex + itemCount, mCardCount);
+             i++) {
+            CardItem card = getCardByAdapterIndex(i);
+            mSnapshotManager.remove(i);
+            if (card.view == null) {
+                continue;
+            }
+            if (card.snapshot) {
+                restoreSnapshot(card, mCards.indexOf(card));
+                changed = true;
+                continue;
+            }
+            if (rebindCardView(card, mCards.indexOf(card))) {
+                changed = true;
+            }
+        }
+        if (changed) {
+            mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+            syncChildOrder();
+            scheduleSnapshots();
+        }
+    }
+
+    /**
+     * add a card for the item inserted into the adapter, the card is added to the back, it is
+     * handled by notifyDataSetChanged after the animation while animating
+     *
+     * @param adapterIndex adapter index inserted
+     */
+    void notifyItemInserted(int adapterIndex) {
+        if (!canNotifyItem(adapterIndex >= 0 && adapterIndex <= mCardCount, mCardCount + 1)) {
+            return;
+        }
+        for (int i = 0; i < mCards.size(); i++) {
+            CardItem card = mCards.get(i);
+            if (card.adapterIndex >= adapterIndex) {
+                card.adapterIndex++;
+            }
+        }
+        CardItem card = new CardItem(null, 0, adapterIndex);
+        card.itemId = mAdapter.getItemId(adapterIndex);
+        mCards.addLast(card);
+        mCardCount++;
+        mAdapterIndexValid = false;
+        mSnapshotManager.clear();
+        layoutDiffedCards(mCardCount - 1, false);
+        scheduleSnapshots();
+    }
+
+    /**
+     * remove the card of the item removed from the adapter, it is handled by
+     * notifyDataSetChanged after the animation while animating
+     *
+     * @param adapterIndex adapter index removed
+     */
+    void notifyItemRemoved(int adapterIndex) {
+        if (!canNotifyItem(adapterIndex >= 0 && adapterIndex < mCardCount, mCardCount - 1)) {
+            return;
+        }
+        CardItem removed = getCardByAdapterIndex(adapterIndex);
+        int position = mCards.indexOf(removed);
+        mCards.remove(position);
+        for (int i = 0; i < mCards.size(); i++) {
+            CardItem card = mCards.get(i);
+            if (card.adapterIndex > adapterIndex) {
+                card.adapterIndex--;
+            }
+        }
+        mCardCount--;
+        mAdapterIndexValid = false;
+        mSnapshotManager.clear();
+        if (removed.view != null && mTransformerAnimRemove != null) {
+            mIsAddRemoveAnim = true;
+            mDiffKeptCount = mCardCount;
+            mDiffRebind = false;
+            mLeavingCards.addLast(removed);
+            mLayerManager.promote(removed.view);
+            mRemoveCascade.setDuration(mAnimAddRemoveDuration);
+            addToCascade(mRemoveCascade, removed, position, 0);
+            mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+            return;
+        }
+        if (removed.view != null) {
+            unbindCardView(removed);
+        }
+        layoutDiffedCards(mCardCount, false);
+        scheduleSnapshots();
+    }
+
+    /**
+     * check whether the item insertion or removal can be applied to the cards now, otherwise
+     * the adapter is notified as a whole
+     *
+     * @param isValidIndex whether the adapter index inserted or removed is valid
+     * @param count        card count after the insertion or removal
+     * @return true if it can be applied now
+     */
+    private boolean canNotifyItem(boolean isValidIndex, int count) {
+        if (mCards == null || mAdapter == null) {
+            return false;
+        }
+        if (mIsAnim || mIsAddRemoveAnim || mTempAdapter != null || !isValidIndex ||
+                mAdapter.getCount() != count) {
+            notifyDataSetChanged(mAdapter);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * get the card bound with the specific adapter index
+     *
+     * @param adapterIndex adapter index
+     * @return card item
+     */
+    private CardItem getCardByAdapterIndex(int adapterIndex) {
+        if (!mAdapterIndexValid) {
+            if (mAdapterIndexCards.length < mCardCount) {
+                mAdapterIndexCards = new CardItem[mCardCount];
+            }
+            for (int i = 0; i < mCards.size(); i++) {
+                CardItem card = mCards.get(i);
+                mAdapterIndexCards[card.adapterIndex] = card;
+            }
+            mAdapterIndexValid = true;
+        }
+        return mAdapterIndexCards[adapterIndex];
+    }
+
+    void bringCardToFront(CardItem card) {
+        if (mCards == null || mTransformerCommon == null || mTransformerToFront ==
+                null || mTransformerToBack == null) {
+            return;
+        }
+        int position = mCards.indexOf(card);
+        requestCardToFront(position, card);
+    }
+
+    /**
+     * bring the specific position card to front
+     *
+     * @param position position
+     */
+    void bringCardToFront(int position) {
+        requestCardToFront(position, null);
+    }
+
+    /**
+     * bring the card to front now, or handle the request by the request policy while animating
+     *
+     * @param position position requested
+     * @param card     card requested, null if requested by position
+     */
+    private void requestCardToFront(int position, CardItem card) {
+        if (!mIsAnim && !mIsAddRemoveAnim) {
+            startCardToFront(position);
+            return;
+        }
+        switch (mRequestPolicy) {
+            case InfiniteCardView.REQUEST_POLICY_QUEUE:
+                mPendingRequests.add(position, card);
+                break;
+            case InfiniteCardView.REQUEST_POLICY_COALESCE:
+                mPendingRequests.set(position, card);
+                break;
+            case InfiniteCardView.REQUEST_POLICY_RETARGET:
+                mPendingRequests.set(position, card);
+                finishAnimationInAdvance();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * handle the requests received while animating, until an animation is started
+     */
+    private void handlePendingRequests() {
+        while (!mIsAnim && !mIsAddRemoveAnim && !mPendingRequests.isEmpty()) {
+            CardItem card = mPendingRequests.peekCard();
+            //the card may have been moved since requested
+            int position = card == null ? mPendingRequests.peekPosition() :
+                    mCards == null ? -1 : mCards.indexOf(card);
+            mPendingRequests.remove();
+            startCardToFront(position);
+        }
+    }
+
+    /**
+     * finish the current animation from the current fraction in a shorter time, so the
+     * retargeted request starts as soon as possible without jumping of the cards
+     */
+    private void finishAnimationInAdvance() {
+        //a dragged card is settled in a short time already
+        if (!mIsAnim || mIsDragging || mIsAnimatorChanged) {
+            return;
+        }
+        float fraction = mCurrentFraction;
+        mAnimator.cancel();
+        runAnimator(fraction, 1, (long) ((1 - fraction) * mAnimDuration / RETARGET_SPEED_UP),
+                mRetargetInterpolator);
+    }
+
+    /**
+     * run the animator from the specific fraction instead of the default values
+     *
+     * @param fromFraction fraction to start
+     * @param toFraction   fraction to end
+     * @param duration     duration
+     * @param interpolator interpolator
+     */
+    private void runAnimator(float fromFraction, float toFraction, long duration,
+                             Interpolator interpolator) {
+        mIsAnimatorChanged = true;
+        mTargetFraction = toFraction;
+        mAnimator.start(fromFraction, toFraction, duration, 0, interpolator);
+    }
+
+    /**
+     * reset the animator to the default values after running from a specific fraction
+     */
+    private void resetAnimator() {
+        mTargetFraction = 1;
+        mIsAnimatorChanged = false;
+    }
+
+    /**
+     * start dragging the card in the second position to front
+     *
+     * @return true if the dragging is started
+     */
+    boolean startDrag() {
+        if (mIsAnim || mIsAddRemoveAnim || !prepareCardToFront(1)) {
+            return false;
+        }
+        mIsAnim = true;
+        mIsDragging = true;
+        beginMetrics();
+        updateFraction(0);
+        return true;
+    }
+
+    /**
+     * update the cards by the dragging fraction, only the cards involved are updated
+     *
+     * @param fraction dragging progress from 0.0f to 1.0f
+     */
+    void dragTo(float fraction) {
+        if (!mIsDragging) {
+            return;
+        }
+        updateFraction(fraction < 0 ? 0 : fraction > 1 ? 1 : fraction);
+    }
+
+    /**
+     * release the dragged card, it is flung to front or settled back, with the duration matching
+     * the release velocity
+     *
+     * @param velocity    release velocity, in fraction per second, positive for moving to front
+     * @param minVelocity min velocity of a fling, in fraction per second
+     */
+    void endDrag(float velocity, float minVelocity) {
+        if (!mIsDragging) {
+            return;
+        }
+        mIsDragging = false;
+        float fraction = mCurrentFraction;
+        boolean toFront = velocity > minVelocity || (fraction > 0.5f && velocity > -minVelocity);
+        float target = toFront ? 1 : 0;
+        float distance = Math.abs(target - fraction);
+        //the decelerate interpolator starts at twice of the average speed
+        long duration = (long) (distance * mAnimDuration);
+        if (Math.abs(velocity) > minVelocity) {
+            duration = Math.min(duration, (long) (2000 * distance / Math.abs(velocity)));
+        }
+        runAnimator(fraction, target, Math.max(duration, SETTLE_MIN_DURATION), mSettleInterpolator);
+    }
+
+    /**
+     * start the animation bringing the specific position card to front
+     *
+     * @param position position
+     */
+    private void startCardToFront(int position) {
+        if (prepareCardToFront(position)) {
+            if (mAnimator.isRunning()) {
+                mAnimator.end();
+            }
+            mIsAnim = true;
+            mCurrentFraction = 0;
+            beginMetrics();
+            mAnimator.start(0, 1, mAnimDuration, 0, mAnimatorInterpolator);
+        }
+    }
+
+    /**
+     * prepare the cards moving for bringing the specific position card to front
+     *
+     * @param position position
+     * @return false if the position is invalid
+     */
+    private boolean prepareCardToFront(int position) {
+        if (mCards != null && position >= 0 && position < mCardCount && position != mPositionToFront) {
+            mPositionToFront = position;
+            //if the animation type is not ANIM_TYPE_SWITCH, the card to back post is the last
+            // position of the visible window
+            mPositionToBack = mAnimType == InfiniteCardView.ANIM_TYPE_SWITCH ? mPositionToFront :
+                    (getVisibleCount() - 1);
+            mCardToBack = mCards.getFirst();
+            mCardToFront = mCards.get(mPositionToFront);
+            restoreSnapshotsMoving();
+            prepareWindow();
+            promoteLayers();
+            prepareBakedTables();
+            return true;
+        }
+        return false;
+    }
+
+//    @Override
+//    public int compare(CardItem o1, CardItem o2) {
+//        return o1.zIndex < o2.zIndex ? -1 : 1;
+//    }
+
+    /**
+     * is the specific position inside the visible window
+     *
+     * @param position position
+     * @return true if the card in the position should be bound with a view
+     */
+    private boolean isInWindow(int position) {
+        int viewCardCount = getViewCardCount();
+        return viewCardCount <= 0 || position < viewCardCount;
+    }
+
+    /**
+     * get the count of the cards bound with views while not animating
+     *
+     * @return bound card count
+     */
+    private int getBoundCount() {
+        int viewCardCount = getViewCardCount();
+        return viewCardCount <= 0 ? mCardCount : Math.min(mCardCount, viewCardCount);
+    }
+
+    /**
+     * get the count of the cards drawn while not animating, by views or shapes
+     *
+     * @return visible card count
+     */
+    private int getVisibleCount() {
+        return mVisibleCardCount <= 0 ? mCardCount : Math.min(mCardCount, mVisibleCardCount);
+    }
+
+    /**
+     * get the count of the positions bound with views, the cards from the shape depth are drawn
+     * by shapes
+     *
+     * @return view card count, 0 for all cards
+     */
+    private int getViewCardCount() {
+        if (mShapeDepth > 0 && (mVisibleCardCount <= 0 || mShapeDepth < mVisibleCardCount)) {
+            return mShapeDepth;
+        }
+        return mVisibleCardCount;
+    }
+
+    /**
+     * get the end of the positions may be bound while animating, which includes the card right
+     * behind the visible window, as it may move into the window
+     *
+     * @return end position, exclusive
+     */
+    private int getWindowEnd() {
+        int viewCardCount = getViewCardCount();
+        return viewCardCount <= 0 ? mCardCount : Math.min(mCardCount, viewCardCount + 1);
+    }
+
+    /**
+     * bind a view from the adapter for the card, and layout it in the specific position
+     *
+     * @param card     card item
+     * @param position position
+     */
+    private void bindCardView(CardItem card, int position) {
+        mViewPool.setViewTypeCount(mAdapter.getViewTypeCount());
+        int viewType = mAdapter.getItemViewType(card.adapterIndex);
+        View convertView = mViewPool.get(viewType);
+        View child = mAdapter.getView(card.adapterIndex, convertView, mCardView);
+        mViewPool.recordBind(convertView, child);
+        card.view = child;
+        card.viewType = viewType;
+        mCardView.addCardView(card);
+        transformCard(card, position, true);
+    }
+
+    /**
+     * bind the card view again with the latest data of the adapter, the view is passed as the
+     * convertView only while its item view type is unchanged, otherwise it is put into the pool
+     * and a view of the new view type is bound
+     *
+     * @param card     card item bound with a view
+     * @param position position
+     * @return whether the card view is replaced
+     */
+    private boolean rebindCardView(CardItem card, int position) {
+        if (mAdapter.getItemViewType(card.adapterIndex) != card.viewType) {
+            unbindCardView(card);
+            bindCardView(card, position);
+            return true;
+        }
+        View child = mAdapter.getView(card.adapterIndex, card.view, mCardView);
+        if (child == card.view) {
+            return false;
+        }
+        mCardView.removeView(card.view);
+        card.view = child;
+        mCardView.addCardView(card);
+        transformCard(card, position, true);
+        return true;
+    }
+
+    /**
+     * remove the view of the card moved out of the visible window
+     *
+     * @param card card item
+     */
+    private void unbindCardView(CardItem card) {
+        mCardView.removeView(card.view);
+        recycleCardView(card);
+    }
+
+    /**
+     * put the view of the card removed from the container into the pool, or the snapshot views
+     *
+     * @param card card item
+     */
+    private void recycleCardView(CardItem card) {
+        if (card.snapshot) {
+            mSnapshotManager.recycleView(card.view);
+            card.snapshot = false;
+        } else {
+            mViewPool.put(card.view, card.viewType);
+        }
+        card.view = null;
+    }
+
+    /**
+     * remove all card views and put them into the pool for the next bind, the cards are dropped
+     * so the next adapter is set as the first time
+     */
+    private void recycleAllCardViews() {
+        cancelInflation();
+        for (int i = 0; i < mLeavingCards.size(); i++) {
+            recycleCardView(mLeavingCards.get(i));
+        }
+        mLeavingCards.clear();
+        if (mCards != null) {
+            for (int i = 0; i < mCards.size(); i++) {
+                CardItem card = mCards.get(i);
+                if (card.view != null) {
+                    recycleCardView(card);
+                }
+            }
+            mCards = null;
+        }
+        mCardView.removeAllViews();
+    }
+
+    /**
+     * bind views for the cards moving into the visible window in the coming animation
+     */
+    private void prepareWindow() {
+        int viewCardCount = getViewCardCount();
+        if (viewCardCount <= 0) {
+            return;
+        }
+        boolean changed = false;
+        if (mCardToFront.view == null) {
+            bindCardView(mCardToFront, mPositionToFront);
+            changed = true;
+        }
+        if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST && viewCardCount < mCardCount) {
+            CardItem card = mCards.get(viewCardCount);
+            if (card.view == null) {
+                bindCardView(card, viewCardCount);
+                changed = true;
+            }
+        }
+        if (changed) {
+            mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+        }
+    }
+
+    /**
+     * bind views for the cards inside the visible window, and unbind the cards outside
+     *
+     * @param end end of the positions to check, exclusive
+     */
+    private void syncWindow(int end) {
+        if (mCards == null) {
+            return;
+        }
+        boolean changed = false;
+        for (int i = 0; i < end; i++) {
+            CardItem card = mCards.get(i);
+            if (isInWindow(i) && card.view == null) {
+                bindCardView(card, i);
+                changed = true;
+            } else if (!isInWindow(i) && card.view != null) {
+                unbindCardView(card);
+                changed = true;
+            }
+        }
+        //the card moving to back may be moved far away from the window
+        if (mCardToBack != null && mCardToBack.view != null &&
+                !isInWindow(mCards.indexOf(mCardToBack))) {
+            unbindCardView(mCardToBack);
+            changed = true;
+        }
+        if (changed) {
+            mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+        }
+        invalidateShapes();
+    }
+
+    /**
+     * redraw the shapes, as the shapes are drawn by the container, which is not redrawn while only
+     * the properties of the card views change
+     */
+    private void invalidateShapes() {
+        if (mShapeDepth > 0 && mCards != null && mShapeDepth < getVisibleCount()) {
+            mCardView.invalidate();
+        }
+    }
+
+    /**
+     * draw the cards from the shape depth by shapes, from back to front, behind all card views,
+     * the cards bound with views while animating are skipped
+     *
+     * @param canvas canvas of the container
+     * @param left   left of the card views laid out in the container
+     * @param top    top of the card views laid out in the container
+     */
+    void drawCardShapes(Canvas canvas, float left, float top) {
+        //the shapes are drawn again with the cards of the adapter after the cascade
+        if (mShapeDepth <= 0 || mCards == null || mIsAddRemoveAnim) {
+            return;
+        }
+        int end = getVisibleCount();
+        if (mIsAnim && mAnimType == InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST && end < mCardCount) {
+            //the card right behind the visible window moves into it
+            end++;
+        }
+        boolean interpolator = mIsAnim && mAnimInterpolator != null;
+        float fractionInterpolated = interpolator ?
+                mAnimInterpolator.getInterpolation(mCurrentFraction) : mCurrentFraction;
+        for (int i = end - 1; i >= mShapeDepth; i--) {
+            if (mCards.get(i).view != null) {
+                continue;
+            }
+            int toPosition = i;
+            if (mIsAnim && mAnimType == InfiniteCardView.ANIM_TYPE_FRONT && i < mPositionToFront) {
+                toPosition = i + 1;
+            } else if (mIsAnim && mAnimType == InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST &&
+                    i > mPositionToFront) {
+                toPosition = i - 1;
+            }
+            if (mShapeTransformer == null) {
+                mShapeTransformer = CardTransformerAdapter.adapt(mCardView.getContext(),
+                        mTransformerCommon);
+            }
+            mShapeRenderer.capture(mShapeTransformer, mCurrentFraction,
+                    interpolator, fractionInterpolated, mCardWidth, mCardHeight, i, toPosition);
+            mShapeRenderer.draw(canvas, left, top, mCardWidth, mCardHeight);
+        }
+    }
+
+    /**
+     * sync the snapshots once the main thread is idle
+     */
+    private void scheduleSnapshots() {
+        if (mIsSnapshotQueued || mCards == null) {
+            return;
+        }
+        mIsSnapshotQueued = true;
+        Looper.myQueue().addIdleHandler(mSnapshotIdleHandler);
+    }
+
+    /**
+     * replace the card views deeper than the snapshot depth with their snapshots, and restore
+     * the card views of the snapshots moved in front of the depth
+     */
+    private void syncSnapshots() {
+        mIsSnapshotPending = false;
+        //synced again after the animation
+        if (mCards == null || mIsAnim || mIsAddRemoveAnim || mInflatingCount > 0) {
+            return;
+        }
+        boolean changed = false;
+        for (int i = 0; i < mCards.size(); i++) {
+            CardItem card = mCards.get(i);
+            if (card.view == null) {
+                continue;
+            }
+            boolean deep = mSnapshotDepth > 0 && i >= mSnapshotDepth;
+            if (deep && !card.snapshot) {
+                if (card.view.getWidth() <= 0 || card.view.getHeight() <= 0) {
+                    //snapshotted after the card view is laid out
+                    mIsSnapshotPending = true;
+                } else if (snapshotCard(card, i)) {
+                    changed = true;
+                }
+            } else if (!deep && card.snapshot) {
+                restoreSnapshot(card, i);
+                changed = true;
+            }
+        }
+        if (changed) {
+            mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+            syncChildOrder();
+        }
+    }
+
+    /**
+     * replace the card view with its snapshot, the card view is put into the pool
+     *
+     * @param card     card item
+     * @param position position
+     * @return false if the snapshot does not fit the snapshot memory budget, the card keeps its
+     * view
+     */
+    private boolean snapshotCard(CardItem card, int position) {
+        if (mSnapshotManager.getSnapshot(card.adapterIndex, card.view) == null) {
+            return false;
+        }
+        mCardView.removeView(card.view);
+        mViewPool.put(card.view, card.viewType);
+        card.view = mSnapshotManager.obtainView(mCardView.getContext(), card.adapterIndex);
+        card.snapshot = true;
+        mCardView.addCardView(card);
+        transformCard(card, position, true);
+        return true;
+    }
+
+    /**
+     * bind the card view again in place of the snapshot
+     *
+     * @param card     card item
+     * @param position position
+     */
+    private void restoreSnapshot(CardItem card, int position) {
+        mCardView.removeView(card.view);
+        recycleCardView(card);
+        bindCardView(card, position);
+    }
+
+    /**
+     * restore the card views of the snapshots moving in front of the snapshot depth in the
+     * coming animation
+     */
+    private void restoreSnapshotsMoving() {
+        boolean changed = false;
+        if (mCardToFront.snapshot) {
+            restoreSnapshot(mCardToFront, mPositionToFront);
+            changed = true;
+        }
+        if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST && mSnapshotDepth > 0 &&
+                mSnapshotDepth < mCardCount) {
+            CardItem card = mCards.get(mSnapshotDepth);
+            if (card.snapshot) {
+                restoreSnapshot(card, mSnapshotDepth);
+                changed = true;
+            }
+        }
+        if (changed) {
+            mZIndexOrder.rebuild(mCardView, mCards, mLeavingCards);
+        }
+    }
+
+    /**
+     * drop the keyframe tables of the baked transformers, so they are sampled again on the next
+     * animation
+     */
+    private void invalidateBakedTransformers() {
+        invalidateBakedTransformer(mTransformerToFront);
+        invalidateBakedTransformer(mTransformerToBack);
+        invalidateBakedTransformer(mTransformerCommon);
+        invalidateBakedTransformer(mTransformerAnimAdd);
+        invalidateBakedTransformer(mTransformerAnimRemove);
+        invalidateBakedTransformer(mZIndexTransformerToFront);
+        invalidateBakedTransformer(mZIndexTransformerToBack);
+        invalidateBakedTransformer(mZIndexTransformerCommon);
+    }
+
+    private void invalidateBakedTransformer(AnimationTransformer transformer) {
+        if (transformer instanceof BakedAnimationTransformer) {
+            ((BakedAnimationTransformer) transformer).invalidate();
+        }
+    }
+
+    private void invalidateBakedTransformer(ZIndexTransformer transformer) {
+        if (transformer instanceof BakedZIndexTransformer) {
+            ((BakedZIndexTransformer) transformer).invalidate();
+        }
+    }
+
+    /**
+     * sample the keyframe tables of the baked transformers for the pairs of positions of the
+     * coming animation, so no table is sampled inside an animation frame
+     */
+    private void prepareBakedTables() {
+        boolean interpolated = mAnimInterpolator != null;
+        prepareBakedTables(mTransformerToFront, mZIndexTransformerToFront, interpolated,
+                mPositionToFront, 0);
+        if (mAnimType != InfiniteCardView.ANIM_TYPE_FRONT) {
+            prepareBakedTables(mTransformerToBack, mZIndexTransformerToBack, interpolated, 0,
+                    mPositionToBack);
+        }
+        int windowEnd = getWindowEnd();
+        if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT) {
+            for (int i = 0, end = Math.min(mPositionToFront, windowEnd); i < end; i++) {
+                prepareBakedTables(mTransformerCommon, mZIndexTransformerCommon, interpolated, i,
+                        i + 1);
+            }
+        } else if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST) {
+            for (int i = mPositionToFront + 1; i < windowEnd; i++) {
+                prepareBakedTables(mTransformerCommon, mZIndexTransformerCommon, interpolated, i,
+                        i - 1);
+            }
+        }
+    }
+
+    private void prepareBakedTables(AnimationTransformer transformer,
+                                    ZIndexTransformer zIndexTransformer, boolean interpolated,
+                                    int fromPosition, int toPosition) {
+        if (transformer instanceof BakedAnimationTransformer) {
+            BakedAnimationTransformer baked = (BakedAnimationTransformer) transformer;
+            baked.prepare(false, mCardWidth, mCardHeight, fromPosition, toPosition);
+            if (interpolated) {
+                baked.prepare(true, mCardWidth, mCardHeight, fromPosition, toPosition);
+            }
+        }
+        if (zIndexTransformer instanceof BakedZIndexTransformer) {
+            BakedZIndexTransformer baked = (BakedZIndexTransformer) zIndexTransformer;
+            baked.prepare(false, mCardWidth, mCardHeight, fromPosition, toPosition);
+            if (interpolated) {
+                baked.prepare(true, mCardWidth, mCardHeight, fromPosition, toPosition);
+            }
+        }
+    }
+
+    /**
+     * promote the cards in the coming animation to hardware layers by the layer policy, the
+     * cards moving most are promoted first while the layer memory budget is limited
+     */
+    private void promoteLayers() {
+        mLayerManager.promote(mCardToFront.view);
+        if (mAnimType != InfiniteCardView.ANIM_TYPE_FRONT ||
+                mLayerManager.getPolicy() == InfiniteCardView.LAYER_POLICY_ALL_VISIBLE) {
+            mLayerManager.promote(mCardToBack.view);
+        }
+        int start = 0, end = getWindowEnd();
+        if (mLayerManager.getPolicy() == InfiniteCardView.LAYER_POLICY_MOVING) {
+            if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT) {
+                end = Math.min(mPositionToFront, end);
+            } else if (mAnimType == InfiniteCardView.ANIM_TYPE_FRONT_TO_LAST) {
+                start = mPositionToFront + 1;
+            } else {
+                end = 0;
+            }
+        }
+        for (int i = start; i < end; i++) {
+            if (!mLayerManager.promote(mCards.get(i).view) && mCards.get(i).view != null) {
+                //out of the layer memory budget
+                break;
+            }
+        }
+    }
+
+    private void beginMetrics() {
+        if (mMetricsListener != null) {
+            mMetrics.begin();
+        }
+    }
+
+    /**
+     * count a layout pass of the card container for the animations recording metrics, and sync
+     * the snapshots of the card views not laid out before
+     */
+    void onLayout() {
+        mMetrics.onLayout();
+        mAddCascade.getMetrics().onLayout();
+        mRemoveCascade.getMetrics().onLayout();
+        if (mIsSnapshotPending) {
+            scheduleSnapshots();
+        }
+    }
+
+    void setAnimationMetricsListener(AnimationMetricsListener metricsListener) {
+        this.mMetricsListener = metricsListener;
+        mAddCascade.setMetricsListener(metricsListener);
+        mRemoveCascade.setMetricsListener(metricsListener);
+    }
+
+    void setRefreshRate(float refreshRate) {
+        mMetrics.setRefreshRate(refreshRate);
+        mAddCascade.getMetrics().setRefreshRate(refreshRate);
+        mRemoveCascade.getMetrics().setRefreshRate(refreshRate);
+    }
+
+    void setCardSize(int cardWidth, int cardHeight) {
+        this.mCardWidth = cardWidth;
+        this.mCardHeight = cardHeight;
+        mLayerManager.setCardSize(cardWidth, cardHeight);
+    }
+
+    void setTransformerToFront(AnimationTransformer toFrontTransformer) {
+        if(mIsAnim || mIsAddRemoveAnim){
+            return;
+        }
+        this.mTransformerToFront = toFrontTransformer;
+    }
+
+    void setTransformerToBack(AnimationTransformer toBackTransformer) {
+        if(mIsAnim || mIsAddRemoveAnim){
+            return;
+        }
+        this.mTransformerToBack = toBackTransformer;
+    }
+
+    void setCommonSwitchTransformer(AnimationTransformer commonTransformer) {
+        if(mIsAnim || mIsAddRemoveAnim){
+            return;
+        }
+        this.mTransformerCommon = commonTransformer;
+        this.mShapeTransformer = null;
+    }
+
+    void setTransformerCommon(AnimationTransformer transformerCommon) {
+        if(mIsAnim || mIsAddRemoveAnim){
+            return;
+        }
+        this.mTransformerCommon = transformerCommon;
+        this.mShapeTransformer = null;
+    }
+
+    void setZIndexTransformerToFront(ZIndexTransformer zIndexTransformerToFront) {
+        if(mIsAnim || mIsAddRemoveAnim){
             return;
         }
         this.mZIndexTransformerToFront = zIndexTransformerToFront;
@@ -650,6 +1965,7 @@ class CardAnimationHelper implements Animator.AnimatorListener,
             return;
         }
         this.mAnimInterpolator = animInterpolator;
+        invalidateBakedTransformers();
     }
 
     void setAnimType(int animType) {
@@ -678,6 +1994,7 @@ class CardAnimationHelper implements Animator.AnimatorListener,
             return;
         }
         this.mAnimAddRemoveInterpolator = animAddRemoveInterpolator;
+        invalidateBakedTransformers();
     }
 
     void setAnimAddRemoveDelay(int animAddRemoveDelay) {
@@ -687,6 +2004,87 @@ class CardAnimationHelper implements Animator.AnimatorListener,
         this.mAnimAddRemoveDelay = animAddRemoveDelay;
     }
 
+    void setLayerPolicy(int layerPolicy) {
+        if (mIsAnim || mIsAddRemoveAnim) {
+            return;
+        }
+        mLayerManager.setPolicy(layerPolicy);
+    }
+
+    void setLayerMemoryBudget(int layerMemoryBudget) {
+        if (mIsAnim || mIsAddRemoveAnim) {
+            return;
+        }
+        mLayerManager.setMemoryBudget(layerMemoryBudget);
+    }
+
+    void setRequestPolicy(int requestPolicy) {
+        this.mRequestPolicy = requestPolicy;
+        if (requestPolicy == InfiniteCardView.REQUEST_POLICY_DROP) {
+            mPendingRequests.clear();
+        }
+    }
+
+    void setVisibleCardCount(int visibleCardCount) {
+        if (mIsAnim || mIsAddRemoveAnim) {
+            return;
+        }
+        this.mVisibleCardCount = Math.max(visibleCardCount, 0);
+        syncWindow(mCardCount);
+    }
+
+    void setSnapshotDepth(int snapshotDepth) {
+        if (mIsAnim || mIsAddRemoveAnim) {
+            return;
+        }
+        this.mSnapshotDepth = Math.max(snapshotDepth, 0);
+        scheduleSnapshots();
+    }
+
+    void setShapeDepth(int shapeDepth) {
+        if (mIsAnim || mIsAddRemoveAnim) {
+            return;
+        }
+        this.mShapeDepth = Math.max(shapeDepth, 0);
+        syncWindow(mCardCount);
+        mCardView.invalidate();
+    }
+
+    void setShapeColor(int shapeColor) {
+        mShapeRenderer.setColor(shapeColor);
+        invalidateShapes();
+    }
+
+    void setShapeCornerRadius(float shapeCornerRadius) {
+        mShapeRenderer.setCornerRadius(shapeCornerRadius);
+        invalidateShapes();
+    }
+
+    void setShapeShadow(int shadowColor, float shadowSize) {
+        mShapeRenderer.setShadow(shadowColor, shadowSize);
+        invalidateShapes();
+    }
+
+    void setSnapshotMemoryBudget(int snapshotMemoryBudget) {
+        mSnapshotManager.setMemoryBudget(snapshotMemoryBudget);
+    }
+
+    void setCardPrefetcher(CardPrefetcher prefetcher, int prefetchCount) {
+        this.mPrefetcher = prefetcher;
+        this.mPrefetchCount = Math.max(prefetchCount, 0);
+        if (mPrefetchedIndexes.length != mPrefetchCount) {
+            mPrefetchedIndexes = new int[mPrefetchCount];
+            mPrefetchingIndexes = new int[mPrefetchCount];
+        }
+        resetPrefetched();
+        schedulePrefetch();
+    }
+
+    void setAsyncCardInflater(AsyncCardInflater asyncInflater, Executor executor) {
+        this.mAsyncInflater = asyncInflater;
+        this.mInflateExecutor = executor;
+    }
+
     void setAnimAddRemoveDuration(int animAddRemoveDuration) {
         if(mIsAnim || mIsAddRemoveAnim){
             return;
@@ -694,6 +2092,25 @@ class CardAnimationHelper implements Animator.AnimatorListener,
         this.mAnimAddRemoveDuration = animAddRemoveDuration;
     }
 
+    /**
+     * get the child index to draw for the specific drawing iteration
+     *
+     * @param childCount child count of the card container
+     * @param i          drawing iteration
+     * @return child index
+     */
+    int getChildDrawingOrder(int childCount, int i) {
+        return mZIndexOrder.getChildDrawingOrder(childCount, i);
+    }
+
+    int getRecycledViewHitCount() {
+        return mViewPool.getHitCount();
+    }
+
+    int getRecycledViewMissCount() {
+        return mViewPool.getMissCount();
+    }
+
     boolean isAnimating(){
         return mIsAnim || mIsAddRemoveAnim;
     }
@@ -0,0 +1,87 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.os.Build;
+import android.view.animation.Interpolator;
+
+/**
+ * animator driving the card animations, the value of each frame is passed as a primitive float,
+ * driven by Choreographer frame callbacks on Jelly Bean and above, and by the nineoldandroids
+ * ValueAnimator on legacy devices
+ *
+ * @author BakerJ
+ */
+abstract class CardAnimator {
+    //callback of the animator
+    final Callback mCallback;
+
+    CardAnimator(Callback callback) {
+        this.mCallback = callback;
+    }
+
+    /**
+     * create the animator by the API level of the device
+     *
+     * @param context  context to read the animator duration scale
+     * @param callback callback of the animator
+     * @return animator
+     */
+    static CardAnimator create(Context context, Callback callback) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new ChoreographerCardAnimator(context, callback);
+        }
+        return new LegacyCardAnimator(callback);
+    }
+
+    /**
+     * start the animator, the running animation is canceled
+     *
+     * @param fromValue    value to start
+     * @param toValue      value to end
+     * @param duration     duration
+     * @param startDelay   delay before the first frame
+     * @param interpolator interpolator, null for linear
+     */
+    abstract void start(float fromValue, float toValue, long duration, long startDelay,
+                        Interpolator interpolator);
+
+    /**
+     * cancel the animator without calling back the end
+     */
+    abstract void cancel();
+
+    /**
+     * end the animator, calling back the end value and the end
+     */
+    abstract void end();
+
+    abstract boolean isRunning();
+
+    /**
+     * get the value of a frame
+     */
+    static float getValue(float fromValue, float toValue, float fraction,
+                          Interpolator interpolator) {
+        if (interpolator != null) {
+            fraction = interpolator.getInterpolation(fraction);
+        }
+        return fromValue + (toValue - fromValue) * fraction;
+    }
+
+    interface Callback {
+        /**
+         * called on each frame
+         *
+         * @param animator animator
+         * @param value    value of the frame
+         */
+        void onAnimationFrame(CardAnimator animator, float value);
+
+        /**
+         * called after the last frame, not called if the animator is canceled
+         *
+         * @param animator animator
+         */
+        void onAnimationEnd(CardAnimator animator);
+    }
+}
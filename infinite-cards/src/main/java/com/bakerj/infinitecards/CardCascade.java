@@ -0,0 +1,178 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.view.View;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+/**
+ * staggered add or remove animation of the cards, driven by a single animator, the fraction of
+ * each card is calculated from the shared frame time and the start delay of the card, so no
+ * animator is created for each card, cards can be added while the cascade is running
+ *
+ * @author BakerJ
+ */
+class CardCascade implements CardAnimator.Callback {
+    private static final int DEFAULT_CAPACITY = 8;
+    //easing of each card, the default interpolator of the animators used for each card before
+    private static final Interpolator EASING = new AccelerateDecelerateInterpolator();
+    private final CardAnimator mAnimator;
+    private final Listener mListener;
+    //is adding cards, the card views are shown while started, or hidden while ended
+    private final boolean mIsAdd;
+    //cards, positions, start times from the cascade start
+    private CardItem[] mCards = new CardItem[DEFAULT_CAPACITY];
+    private int[] mPositions = new int[DEFAULT_CAPACITY];
+    private long[] mStartTimes = new long[DEFAULT_CAPACITY];
+    //card count, count of the cards ended
+    private int mSize, mEndedCount;
+    //duration of each card
+    private long mDuration;
+    //time elapsed since the cascade start, end time of the cascade
+    private float mElapsed, mEndTime;
+    //frame metrics of the cascade, recorded while the metrics listener is set
+    private final AnimationMetrics mMetrics;
+    private AnimationMetricsListener mMetricsListener;
+
+    CardCascade(Context context, boolean isAdd, Listener listener) {
+        this.mIsAdd = isAdd;
+        this.mListener = listener;
+        this.mAnimator = CardAnimator.create(context, this);
+        this.mMetrics = new AnimationMetrics(isAdd ? AnimationMetrics.ANIMATION_ADD :
+                AnimationMetrics.ANIMATION_REMOVE);
+    }
+
+    /**
+     * add a card to the cascade, the cascade is started if not running
+     *
+     * @param card     card item
+     * @param position position of the card
+     * @param delay    start delay of the card from now
+     */
+    void add(CardItem card, int position, long delay) {
+        if (mSize == mCards.length) {
+            grow();
+        }
+        mCards[mSize] = card;
+        mPositions[mSize] = position;
+        mStartTimes[mSize] = (long) mElapsed + delay;
+        mSize++;
+        float endTime = mElapsed + delay + mDuration;
+        if (mMetricsListener != null && !mAnimator.isRunning()) {
+            mMetrics.begin();
+        }
+        if (endTime > mEndTime || !mAnimator.isRunning()) {
+            mEndTime = Math.max(endTime, mEndTime);
+            //the animator value is the elapsed time, so it is restarted from the elapsed time
+            mAnimator.start(mElapsed, mEndTime, (long) (mEndTime - mElapsed), 0, null);
+        }
+    }
+
+    void setDuration(long duration) {
+        this.mDuration = duration;
+    }
+
+    void setMetricsListener(AnimationMetricsListener metricsListener) {
+        this.mMetricsListener = metricsListener;
+    }
+
+    AnimationMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    boolean isRunning() {
+        return mAnimator.isRunning();
+    }
+
+    /**
+     * cancel the cascade without calling back the end
+     */
+    void cancel() {
+        mAnimator.cancel();
+        mMetrics.end();
+        reset();
+    }
+
+    @Override
+    public void onAnimationFrame(CardAnimator animator, float value) {
+        mElapsed = value;
+        mMetrics.beginFrame();
+        for (int i = 0; i < mSize; i++) {
+            CardItem card = mCards[i];
+            if (card == null) {
+                continue;
+            }
+            float fraction = mDuration > 0 ? (value - mStartTimes[i]) / mDuration : 1;
+            if (fraction < 0) {
+                continue;
+            }
+            if (mIsAdd) {
+                card.view.setVisibility(View.VISIBLE);
+            }
+            fraction = EASING.getInterpolation(Math.min(fraction, 1));
+            mListener.onCascadeFrame(this, card, mPositions[i], fraction);
+            if (fraction >= 1) {
+                if (!mIsAdd) {
+                    card.view.setVisibility(View.GONE);
+                }
+                mCards[i] = null;
+                mEndedCount++;
+            }
+        }
+        mMetrics.endFrame();
+    }
+
+    @Override
+    public void onAnimationEnd(CardAnimator animator) {
+        if (mEndedCount < mSize) {
+            return;
+        }
+        reset();
+        if (mMetrics.end() && mMetricsListener != null) {
+            mMetricsListener.onAnimationMetrics(mMetrics);
+        }
+        mListener.onCascadeEnd(this);
+    }
+
+    private void reset() {
+        for (int i = 0; i < mSize; i++) {
+            mCards[i] = null;
+        }
+        mSize = 0;
+        mEndedCount = 0;
+        mElapsed = 0;
+        mEndTime = 0;
+    }
+
+    private void grow() {
+        int capacity = mCards.length * 2;
+        CardItem[] cards = new CardItem[capacity];
+        int[] positions = new int[capacity];
+        long[] startTimes = new long[capacity];
+        System.arraycopy(mCards, 0, cards, 0, mSize);
+        System.arraycopy(mPositions, 0, positions, 0, mSize);
+        System.arraycopy(mStartTimes, 0, startTimes, 0, mSize);
+        mCards = cards;
+        mPositions = positions;
+        mStartTimes = startTimes;
+    }
+
+    interface Listener {
+        /**
+         * called on each frame for each card started
+         *
+         * @param cascade  cascade
+         * @param card     card item
+         * @param position position of the card
+         * @param fraction animation progress of the card from 0.0f to 1.0f
+         */
+        void onCascadeFrame(CardCascade cascade, CardItem card, int position, float fraction);
+
+        /**
+         * called after all cards ended
+         *
+         * @param cascade cascade
+         */
+        void onCascadeEnd(CardCascade cascade);
+    }
+}
@@ -0,0 +1,192 @@
+package com.bakerj.infinitecards;
+
+/**
+ * card items ordered by position, backed by a circular array, so the card in any position can be
+ * got in O(1), and the reordering after each animation type needs no allocation, each card holds
+ * its array index, so the position of any card can be got in O(1) as well
+ *
+ * @author BakerJ
+ */
+class CardDeck {
+    private static final int DEFAULT_CAPACITY = 8;
+    //circular array of card items
+    private CardItem[] mItems;
+    //array index of the first position, card count
+    private int mHead, mSize;
+
+    CardDeck() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    CardDeck(int capacity) {
+        mItems = new CardItem[Math.max(capacity, 1)];
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * get the card in the specific position
+     *
+     * @param position position
+     * @return card item
+     */
+    CardItem get(int position) {
+        checkPosition(position);
+        return mItems[slot(position)];
+    }
+
+    CardItem getFirst() {
+        return get(0);
+    }
+
+    CardItem getLast() {
+        return get(mSize - 1);
+    }
+
+    void addFirst(CardItem card) {
+        ensureCapacity(mSize + 1);
+        mHead = mHead == 0 ? mItems.length - 1 : mHead - 1;
+        set(mHead, card);
+        mSize++;
+    }
+
+    void addLast(CardItem card) {
+        ensureCapacity(mSize + 1);
+        set(slot(mSize), card);
+        mSize++;
+    }
+
+    void clear() {
+        for (int i = 0; i < mSize; i++) {
+            mItems[slot(i)] = null;
+        }
+        mHead = 0;
+        mSize = 0;
+    }
+
+    /**
+     * get the position of the specific card, O(1)
+     *
+     * @param card card item
+     * @return position, -1 if the card is not in the deck
+     */
+    int indexOf(CardItem card) {
+        int slot = card.slot;
+        if (slot < 0 || slot >= mItems.length || mItems[slot] != card) {
+            return -1;
+        }
+        int position = slot - mHead;
+        return position < 0 ? position + mItems.length : position;
+    }
+
+    /**
+     * remove the card in the specific position, cards after it are moved forward by one
+     * position, O(size - position)
+     *
+     * @param position position
+     * @return card removed
+     */
+    CardItem remove(int position) {
+        checkPosition(position);
+        CardItem card = mItems[slot(position)];
+        for (int i = position; i < mSize - 1; i++) {
+            set(slot(i), mItems[slot(i + 1)]);
+        }
+        mItems[slot(mSize - 1)] = null;
+        mSize--;
+        return card;
+    }
+
+    /**
+     * move the card in the specific position to the first position, cards before it are moved
+     * back by one position, for ANIM_TYPE_FRONT, O(position)
+     *
+     * @param position position
+     */
+    void moveToFront(int position) {
+        checkPosition(position);
+        CardItem card = mItems[slot(position)];
+        for (int i = position; i > 0; i--) {
+            set(slot(i), mItems[slot(i - 1)]);
+        }
+        set(mHead, card);
+    }
+
+    /**
+     * switch the card in the specific position with the first card, for ANIM_TYPE_SWITCH, O(1)
+     *
+     * @param position position
+     */
+    void switchWithFirst(int position) {
+        checkPosition(position);
+        int slot = slot(position);
+        CardItem card = mItems[slot];
+        set(slot, mItems[mHead]);
+        set(mHead, card);
+    }
+
+    /**
+     * move the card in the specific position to the first position, and the first card to the
+     * last position, for ANIM_TYPE_FRONT_TO_LAST, O(position)
+     *
+     * @param position position, should be bigger than 0
+     */
+    void moveFirstToLast(int position) {
+        checkPosition(position);
+        if (position == 0) {
+            return;
+        }
+        rotate();
+        moveToFront(position - 1);
+    }
+
+    /**
+     * move the first card to the last position, other cards are moved forward by one position,
+     * O(1)
+     */
+    void rotate() {
+        if (mSize < 2) {
+            return;
+        }
+        CardItem first = mItems[mHead];
+        if (mSize < mItems.length) {
+            set(slot(mSize), first);
+            mItems[mHead] = null;
+        }
+        mHead = slot(1);
+    }
+
+    /**
+     * put the card into the specific array index, and record the index in the card
+     */
+    private void set(int slot, CardItem card) {
+        mItems[slot] = card;
+        card.slot = slot;
+    }
+
+    private int slot(int position) {
+        int slot = mHead + position;
+        return slot < mItems.length ? slot : slot - mItems.length;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= mSize) {
+            throw new IndexOutOfBoundsException("position: " + position + ", size: " + mSize);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= mItems.length) {
+            return;
+        }
+        CardItem[] items = new CardItem[Math.max(capacity, mItems.length * 2)];
+        for (int i = 0; i < mSize; i++) {
+            items[i] = mItems[slot(i)];
+            items[i].slot = i;
+        }
+        mItems = items;
+        mHead = 0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.bakerj.infinitecards;
+
+import android.os.Handler;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * inflation of a card view, run on the executor first, then posted back to the main thread with
+ * the view inflated, or with the failure of the inflater
+ *
+ * @author BakerJ
+ */
+class CardInflateTask implements Runnable {
+    private final AsyncCardInflater mInflater;
+    private final ViewGroup mParent;
+    private final Handler mMainHandler;
+    private final Callback mCallback;
+    //card waiting for the view, position of the card, item view type of the card
+    final CardItem card;
+    final int position, viewType;
+    //generation of the inflations, the task is dropped if a newer generation started
+    final int generation;
+    //view inflated, null if the inflater failed
+    volatile View view;
+    //failure of the inflater, posted back to the main thread, where the card is inflated by the
+    // adapter instead
+    volatile RuntimeException failure;
+    private volatile boolean mInflated;
+
+    CardInflateTask(AsyncCardInflater inflater, ViewGroup parent, Handler mainHandler,
+                    Callback callback, CardItem card, int position, int viewType,
+                    int generation) {
+        this.mInflater = inflater;
+        this.mParent = parent;
+        this.mMainHandler = mainHandler;
+        this.mCallback = callback;
+        this.card = card;
+        this.position = position;
+        this.viewType = viewType;
+        this.generation = generation;
+    }
+
+    @Override
+    public void run() {
+        if (mInflated) {
+            mCallback.onCardInflated(this);
+            return;
+        }
+        try {
+            view = mInflater.onInflateCardView(mParent, viewType);
+        } catch (RuntimeException e) {
+            view = null;
+            failure = e;
+        }
+        mInflated = true;
+        mMainHandler.post(this);
+    }
+
+    interface Callback {
+        /**
+         * called on the main thread with the view inflated
+         *
+         * @param task inflation task
+         */
+        void onCardInflated(CardInflateTask task);
+    }
+}
@@ -8,7 +8,22 @@ import android.view.View;
 public class CardItem {
     public View view;
     public float zIndex;
+    //properties of the card written by the card transformers, applied to the view in one step
+    public final CardTransform transform = new CardTransform();
+    //properties applied to the view last time, and the view applied to, null to write all of them
+    final CardTransform appliedTransform = new CardTransform();
+    View appliedView;
     int adapterIndex;
+    //item view type of the adapter for the bound view
+    int viewType;
+    //item id of the adapter, for diffing the adapters with stable ids
+    long itemId;
+    //array index in the card deck, for getting the position in O(1)
+    int slot = -1;
+    //index in the drawing order, for checking the order of the card in O(1)
+    int drawingIndex = -1;
+    //whether the view is an image view showing the snapshot of the card
+    boolean snapshot;
 
     CardItem(View view, float zIndex, int adapterIndex) {
         this.view = view;
@@ -18,11 +33,15 @@ public class CardItem {
 
     @Override
     public int hashCode() {
-        return view.hashCode();
+        //view is null while the card is outside the visible window
+        return view == null ? super.hashCode() : view.hashCode();
     }
 
     @Override
     public boolean equals(Object obj) {
+        if (view == null) {
+            return obj == this;
+        }
         return obj instanceof CardItem && view.equals(((CardItem) obj).view);
     }
 }
@@ -0,0 +1,102 @@
+package com.bakerj.infinitecards;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.View;
+
+/**
+ * promote the card views to hardware layers while animating, so the transformed cards are
+ * drawn from the layers instead of redrawing their content each frame, the original layer types
+ * are restored after the animation
+ *
+ * @author BakerJ
+ */
+class CardLayerManager {
+    static final int DEFAULT_LAYER_MEMORY_BUDGET = 16 * 1024 * 1024;
+    //bytes of each pixel in a layer
+    private static final int BYTES_PER_PIXEL = 4;
+    //layer policy
+    private int mPolicy = InfiniteCardView.LAYER_POLICY_MOVING;
+    //max bytes of the layers promoted at once, bytes of a card layer
+    private int mMemoryBudget = DEFAULT_LAYER_MEMORY_BUDGET, mLayerSize;
+    //views promoted, and their original layer types
+    private View[] mViews = new View[4];
+    private int[] mLayerTypes = new int[4];
+    private int mCount;
+
+    void setPolicy(int policy) {
+        this.mPolicy = policy;
+    }
+
+    int getPolicy() {
+        return mPolicy;
+    }
+
+    void setMemoryBudget(int memoryBudget) {
+        this.mMemoryBudget = memoryBudget;
+    }
+
+    void setCardSize(int cardWidth, int cardHeight) {
+        mLayerSize = cardWidth * cardHeight * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * promote the view to a hardware layer if the budget allows
+     *
+     * @param view card view
+     * @return false if the view is not promoted
+     */
+    boolean promote(View view) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB ||
+                mPolicy == InfiniteCardView.LAYER_POLICY_OFF || view == null) {
+            return false;
+        }
+        for (int i = 0; i < mCount; i++) {
+            if (mViews[i] == view) {
+                return true;
+            }
+        }
+        if ((long) (mCount + 1) * mLayerSize > mMemoryBudget) {
+            return false;
+        }
+        if (mCount == mViews.length) {
+            View[] views = new View[mCount * 2];
+            int[] layerTypes = new int[mCount * 2];
+            System.arraycopy(mViews, 0, views, 0, mCount);
+            System.arraycopy(mLayerTypes, 0, layerTypes, 0, mCount);
+            mViews = views;
+            mLayerTypes = layerTypes;
+        }
+        mViews[mCount] = view;
+        mLayerTypes[mCount] = setHardwareLayer(view);
+        mCount++;
+        return true;
+    }
+
+    /**
+     * restore the original layer types of all promoted views
+     */
+    void restoreAll() {
+        for (int i = 0; i < mCount; i++) {
+            restoreLayer(mViews[i], mLayerTypes[i]);
+            mViews[i] = null;
+        }
+        mCount = 0;
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private int setHardwareLayer(View view) {
+        int layerType = view.getLayerType();
+        if (layerType != View.LAYER_TYPE_HARDWARE) {
+            view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        }
+        return layerType;
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private void restoreLayer(View view, int layerType) {
+        if (view.getLayerType() != layerType) {
+            view.setLayerType(layerType, null);
+        }
+    }
+}
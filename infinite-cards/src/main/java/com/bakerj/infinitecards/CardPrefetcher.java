@@ -0,0 +1,17 @@
+package com.bakerj.infinitecards;
+
+/**
+ * prefetcher of the content of the cards coming next, such as warming the cache of an image
+ * loader, so the content is ready before the card is bound or comes to front
+ *
+ * @author BakerJ
+ */
+public interface CardPrefetcher {
+    /**
+     * called on the main thread while idle after an animation, for each card coming next in
+     * the deck order, the prefetching should be asynchronous
+     *
+     * @param adapterIndex adapter index of the card
+     */
+    void onPrefetch(int adapterIndex);
+}
@@ -0,0 +1,84 @@
+package com.bakerj.infinitecards;
+
+/**
+ * requests of bringing card to front received while animating, a request holds the position
+ * requested, or the card clicked which is resolved to its position while handling it, the
+ * positions refer to the deck when the request is handled, after the animations before it have
+ * reordered the cards, a request same as the last one is collapsed into it, and the requests
+ * beyond the capacity are dropped, so a burst of requests can not queue animations without end
+ *
+ * @author BakerJ
+ */
+class CardRequestQueue {
+    static final int CAPACITY = 8;
+    //requested positions
+    private final int[] mPositions = new int[CAPACITY];
+    //requested cards, null for the requests by position
+    private final CardItem[] mCards = new CardItem[CAPACITY];
+    //array index of the first request, request count
+    private int mHead, mSize;
+
+    /**
+     * add a request to the end of the queue, unless it is the same as the last request, or the
+     * queue is full
+     *
+     * @param position position requested
+     * @param card     card requested, null if requested by position
+     */
+    void add(int position, CardItem card) {
+        if (mSize > 0) {
+            int last = (mHead + mSize - 1) % CAPACITY;
+            if (card != null ? mCards[last] == card :
+                    mCards[last] == null && mPositions[last] == position) {
+                //collapsed into the last request
+                return;
+            }
+        }
+        if (mSize == CAPACITY) {
+            return;
+        }
+        int slot = (mHead + mSize) % CAPACITY;
+        mPositions[slot] = position;
+        mCards[slot] = card;
+        mSize++;
+    }
+
+    /**
+     * replace all requests with the latest one
+     *
+     * @param position position requested
+     * @param card     card requested, null if requested by position
+     */
+    void set(int position, CardItem card) {
+        clear();
+        add(position, card);
+    }
+
+    int peekPosition() {
+        return mPositions[mHead];
+    }
+
+    CardItem peekCard() {
+        return mCards[mHead];
+    }
+
+    /**
+     * remove the first request
+     */
+    void remove() {
+        mCards[mHead] = null;
+        mHead = (mHead + 1) % CAPACITY;
+        mSize--;
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    void clear() {
+        while (mSize > 0) {
+            remove();
+        }
+        mHead = 0;
+    }
+}
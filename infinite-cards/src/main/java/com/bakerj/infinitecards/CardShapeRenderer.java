@@ -0,0 +1,93 @@
+package com.bakerj.infinitecards;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+/**
+ * renderer of the cards deep in the stack drawn as rounded rectangles with a shadow instead of
+ * their views, the geometry of a card is captured from the card transformer, so the shapes follow
+ * the card views, only scale, translation and alpha are drawn
+ *
+ * @author BakerJ
+ */
+class CardShapeRenderer {
+    static final int DEFAULT_SHAPE_COLOR = 0xfff5f5f5, DEFAULT_SHADOW_COLOR = 0x22000000;
+    private final Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF mRect = new RectF();
+    //properties captured from the transformer
+    private final CardTransform mTransform = new CardTransform();
+    private int mColor = DEFAULT_SHAPE_COLOR, mShadowColor = DEFAULT_SHADOW_COLOR;
+    private float mCornerRadius, mShadowSize;
+
+    /**
+     * capture the geometry of a card from the transformer, the transform is reset to the
+     * properties of a card view not transformed before each capture
+     *
+     * @param transformer          card transformer of the card
+     * @param fraction             animation progress from 0.0f to 1.0f
+     * @param interpolator         whether the interpolated animation is transformed as well
+     * @param fractionInterpolated interpolated animation progress
+     * @param cardWidth            card width
+     * @param cardHeight           card height
+     * @param fromPosition         card moving from
+     * @param toPosition           card moving to
+     */
+    void capture(CardTransformer transformer, float fraction, boolean interpolator,
+                 float fractionInterpolated, int cardWidth, int cardHeight, int fromPosition,
+                 int toPosition) {
+        mTransform.reset();
+        transformer.transformAnimation(mTransform, fraction, cardWidth, cardHeight, fromPosition,
+                toPosition);
+        if (interpolator) {
+            transformer.transformInterpolatedAnimation(mTransform, fractionInterpolated,
+                    cardWidth, cardHeight, fromPosition, toPosition);
+        }
+    }
+
+    /**
+     * draw the card captured last time, scaled around the card center as the card views
+     *
+     * @param canvas     canvas of the container
+     * @param left       left of the card views laid out in the container
+     * @param top        top of the card views laid out in the container
+     * @param cardWidth  card width
+     * @param cardHeight card height
+     */
+    void draw(Canvas canvas, float left, float top, int cardWidth, int cardHeight) {
+        if (mTransform.alpha <= 0 || mTransform.scaleX == 0 || mTransform.scaleY == 0) {
+            return;
+        }
+        int saveCount = canvas.save();
+        canvas.translate(left + mTransform.translationX, top + mTransform.translationY);
+        canvas.scale(mTransform.scaleX, mTransform.scaleY, cardWidth / 2f, cardHeight / 2f);
+        if (mShadowSize > 0) {
+            mRect.set(-mShadowSize, -mShadowSize / 2, cardWidth + mShadowSize,
+                    cardHeight + mShadowSize * 1.5f);
+            drawRect(canvas, mShadowColor, mCornerRadius + mShadowSize);
+        }
+        mRect.set(0, 0, cardWidth, cardHeight);
+        drawRect(canvas, mColor, mCornerRadius);
+        canvas.restoreToCount(saveCount);
+    }
+
+    private void drawRect(Canvas canvas, int color, float cornerRadius) {
+        mPaint.setColor(color);
+        mPaint.setAlpha((int) (Color.alpha(color) * Math.min(mTransform.alpha, 1)));
+        canvas.drawRoundRect(mRect, cornerRadius, cornerRadius, mPaint);
+    }
+
+    void setColor(int color) {
+        this.mColor = color;
+    }
+
+    void setCornerRadius(float cornerRadius) {
+        this.mCornerRadius = Math.max(cornerRadius, 0);
+    }
+
+    void setShadow(int shadowColor, float shadowSize) {
+        this.mShadowColor = shadowColor;
+        this.mShadowSize = Math.max(shadowSize, 0);
+    }
+}
@@ -0,0 +1,214 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.util.SparseArray;
+import android.view.View;
+import android.widget.ImageView;
+
+import java.util.ArrayList;
+
+/**
+ * downscaled bitmap snapshots of the cards deep in the stack, drawn by image views in place of
+ * the card views, the snapshots are cached by adapter index with a LRU byte budget, which covers
+ * the snapshots shown as well, a snapshot evicted while shown is counted until its image view is
+ * recycled, and no snapshot is drawn while it does not fit the budget
+ *
+ * @author BakerJ
+ */
+class CardSnapshotManager {
+    static final int DEFAULT_SNAPSHOT_MEMORY_BUDGET = 4 * 1024 * 1024;
+    //scale of the snapshots to the card size
+    private static final float SNAPSHOT_SCALE = 0.5f;
+    //cached snapshots by adapter index
+    private final SparseArray<Entry> mEntries = new SparseArray<>();
+    //least and most recently used snapshots
+    private Entry mHead, mTail;
+    //max bytes of the snapshots, bytes of the snapshots cached or shown
+    private int mMemoryBudget = DEFAULT_SNAPSHOT_MEMORY_BUDGET, mSize;
+    //image views removed from the container, reused for the next snapshot
+    private final ArrayList<ImageView> mScrapViews = new ArrayList<>();
+    //image views showing the snapshots, and their snapshots
+    private final ArrayList<ImageView> mShownViews = new ArrayList<>();
+    private final ArrayList<Entry> mShownEntries = new ArrayList<>();
+
+    void setMemoryBudget(int memoryBudget) {
+        this.mMemoryBudget = Math.max(memoryBudget, 0);
+        trimToBudget(0);
+    }
+
+    /**
+     * get the snapshot of the card view from the cache, or draw it if it fits the budget after
+     * evicting the snapshots not shown
+     *
+     * @param adapterIndex adapter index of the card
+     * @param view         card view, laid out already
+     * @return snapshot, null if the view is not laid out yet, or the snapshot does not fit the
+     * budget
+     */
+    Bitmap getSnapshot(int adapterIndex, View view) {
+        Entry entry = mEntries.get(adapterIndex);
+        if (entry != null) {
+            unlink(entry);
+            link(entry);
+            return entry.bitmap;
+        }
+        int width = (int) (view.getWidth() * SNAPSHOT_SCALE);
+        int height = (int) (view.getHeight() * SNAPSHOT_SCALE);
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        //4 bytes per pixel of ARGB_8888
+        int size = width * height * 4;
+        trimToBudget(size);
+        if (mSize + size > mMemoryBudget) {
+            return null;
+        }
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        canvas.scale(SNAPSHOT_SCALE, SNAPSHOT_SCALE);
+        view.draw(canvas);
+        entry = new Entry(adapterIndex, bitmap);
+        mEntries.put(adapterIndex, entry);
+        link(entry);
+        mSize += entry.size;
+        return bitmap;
+    }
+
+    /**
+     * drop the snapshot of the specific adapter index, as the card content changed
+     *
+     * @param adapterIndex adapter index
+     */
+    void remove(int adapterIndex) {
+        Entry entry = mEntries.get(adapterIndex);
+        if (entry != null) {
+            evict(entry);
+        }
+    }
+
+    /**
+     * drop all snapshots, as the adapter indexes changed
+     */
+    void clear() {
+        while (mHead != null) {
+            evict(mHead);
+        }
+    }
+
+    /**
+     * get an image view showing the snapshot just got of the adapter index
+     *
+     * @param context      context
+     * @param adapterIndex adapter index of the card
+     * @return image view
+     */
+    ImageView obtainView(Context context, int adapterIndex) {
+        Entry entry = mEntries.get(adapterIndex);
+        ImageView view = mScrapViews.isEmpty() ? null : mScrapViews.remove(mScrapViews.size() - 1);
+        if (view == null) {
+            view = new ImageView(context);
+            view.setScaleType(ImageView.ScaleType.FIT_XY);
+        }
+        view.setImageBitmap(entry.bitmap);
+        entry.shownCount++;
+        mShownViews.add(view);
+        mShownEntries.add(entry);
+        return view;
+    }
+
+    /**
+     * put an image view removed from the container back for reuse, its snapshot is no longer
+     * counted if evicted already
+     *
+     * @param view image view
+     */
+    void recycleView(View view) {
+        ImageView imageView = (ImageView) view;
+        int index = mShownViews.indexOf(imageView);
+        if (index >= 0) {
+            mShownViews.remove(index);
+            Entry entry = mShownEntries.remove(index);
+            entry.shownCount--;
+            if (entry.shownCount == 0 && !entry.cached) {
+                mSize -= entry.size;
+            }
+        }
+        imageView.setImageBitmap(null);
+        mScrapViews.add(imageView);
+    }
+
+    /**
+     * evict the least recently used snapshots not shown, until the snapshots and the extra bytes
+     * fit the budget, the snapshots shown are kept, as their bitmaps are held by the image views
+     * anyway
+     *
+     * @param extra bytes of the snapshot to add
+     */
+    private void trimToBudget(int extra) {
+        Entry entry = mHead;
+        while (entry != null && mSize + extra > mMemoryBudget) {
+            Entry next = entry.next;
+            if (entry.shownCount == 0) {
+                evict(entry);
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * drop the snapshot from the cache, it is still counted while shown
+     */
+    private void evict(Entry entry) {
+        unlink(entry);
+        mEntries.remove(entry.adapterIndex);
+        entry.cached = false;
+        if (entry.shownCount == 0) {
+            mSize -= entry.size;
+        }
+    }
+
+    private void link(Entry entry) {
+        entry.prev = mTail;
+        entry.next = null;
+        if (mTail != null) {
+            mTail.next = entry;
+        } else {
+            mHead = entry;
+        }
+        mTail = entry;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            mHead = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        } else {
+            mTail = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private static class Entry {
+        final int adapterIndex;
+        final Bitmap bitmap;
+        //bytes of the bitmap
+        final int size;
+        //count of the image views showing the snapshot, whether the snapshot is in the cache
+        int shownCount;
+        boolean cached = true;
+        Entry prev, next;
+
+        Entry(int adapterIndex, Bitmap bitmap) {
+            this.adapterIndex = adapterIndex;
+            this.bitmap = bitmap;
+            this.size = bitmap.getRowBytes() * bitmap.getHeight();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.bakerj.infinitecards;
+
+import android.view.View;
+
+import com.nineoldandroids.view.ViewHelper;
+
+/**
+ * properties of a card written by a CardTransformer, the animation helper keeps one for each
+ * card and applies it to the card view in one step, so the transformers can run without views
+ *
+ * @author BakerJ
+ */
+public class CardTransform {
+    //changes of the properties smaller than it are not written to the view, unless reaching 0
+    // or 1, so the properties at rest are exact
+    static final float EPSILON = 0.0001f;
+    public float scaleX = 1, scaleY = 1, translationX, translationY, rotation, rotationX,
+            rotationY, alpha = 1;
+    //Z index of the card, copied from the card item after the Z index transformers
+    public float zIndex;
+
+    /**
+     * reset to the properties of a card view not transformed
+     */
+    public void reset() {
+        scaleX = 1;
+        scaleY = 1;
+        translationX = 0;
+        translationY = 0;
+        rotation = 0;
+        rotationX = 0;
+        rotationY = 0;
+        alpha = 1;
+        zIndex = 0;
+    }
+
+    public void set(CardTransform transform) {
+        scaleX = transform.scaleX;
+        scaleY = transform.scaleY;
+        translationX = transform.translationX;
+        translationY = transform.translationY;
+        rotation = transform.rotation;
+        rotationX = transform.rotationX;
+        rotationY = transform.rotationY;
+        alpha = transform.alpha;
+        zIndex = transform.zIndex;
+    }
+
+    /**
+     * read the properties of the view, the Z index is kept
+     *
+     * @param view view
+     */
+    void read(View view) {
+        scaleX = ViewHelper.getScaleX(view);
+        scaleY = ViewHelper.getScaleY(view);
+        translationX = ViewHelper.getTranslationX(view);
+        translationY = ViewHelper.getTranslationY(view);
+        rotation = ViewHelper.getRotation(view);
+        rotationX = ViewHelper.getRotationX(view);
+        rotationY = ViewHelper.getRotationY(view);
+        alpha = ViewHelper.getAlpha(view);
+    }
+
+    /**
+     * write the properties to the view, the Z index is applied by the drawing order instead
+     *
+     * @param view view
+     */
+    void apply(View view) {
+        ViewHelper.setScaleX(view, scaleX);
+        ViewHelper.setScaleY(view, scaleY);
+        ViewHelper.setTranslationX(view, translationX);
+        ViewHelper.setTranslationY(view, translationY);
+        ViewHelper.setRotation(view, rotation);
+        ViewHelper.setRotationX(view, rotationX);
+        ViewHelper.setRotationY(view, rotationY);
+        ViewHelper.setAlpha(view, alpha);
+    }
+
+    /**
+     * write the properties changed since the last applied ones to the view, the unchanged ones
+     * are skipped, as each write invalidates the view, the Z index is not applied
+     *
+     * @param view    view
+     * @param applied properties applied to the view last time, updated with the ones written
+     */
+    void applyChanged(View view, CardTransform applied) {
+        if (isChanged(scaleX, applied.scaleX)) {
+            ViewHelper.setScaleX(view, scaleX);
+            applied.scaleX = scaleX;
+        }
+        if (isChanged(scaleY, applied.scaleY)) {
+            ViewHelper.setScaleY(view, scaleY);
+            applied.scaleY = scaleY;
+        }
+        if (isChanged(translationX, applied.translationX)) {
+            ViewHelper.setTranslationX(view, translationX);
+            applied.translationX = translationX;
+        }
+        if (isChanged(translationY, applied.translationY)) {
+            ViewHelper.setTranslationY(view, translationY);
+            applied.translationY = translationY;
+        }
+        if (isChanged(rotation, applied.rotation)) {
+            ViewHelper.setRotation(view, rotation);
+            applied.rotation = rotation;
+        }
+        if (isChanged(rotationX, applied.rotationX)) {
+            ViewHelper.setRotationX(view, rotationX);
+            applied.rotationX = rotationX;
+        }
+        if (isChanged(rotationY, applied.rotationY)) {
+            ViewHelper.setRotationY(view, rotationY);
+            applied.rotationY = rotationY;
+        }
+        if (isChanged(alpha, applied.alpha)) {
+            ViewHelper.setAlpha(view, alpha);
+            applied.alpha = alpha;
+        }
+    }
+
+    private static boolean isChanged(float value, float applied) {
+        if (value == applied) {
+            return false;
+        }
+        return Math.abs(value - applied) > EPSILON || value == 0 || value == 1;
+    }
+}
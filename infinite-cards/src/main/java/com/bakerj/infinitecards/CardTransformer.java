@@ -0,0 +1,66 @@
+package com.bakerj.infinitecards;
+
+import android.view.View;
+
+/**
+ * animation transformer writing the properties of a card into a CardTransform instead of its
+ * view, so it can be evaluated, cached and tested without views, the animation helper applies
+ * the transform to the card view after the transformers, the AnimationTransformer methods are
+ * kept for the callers transforming views directly, a subclass overriding them is called with the
+ * card view as any other AnimationTransformer, so the overrides keep working
+ *
+ * @author BakerJ
+ */
+public abstract class CardTransformer implements AnimationTransformer {
+    private static final Class<?>[] VIEW_METHOD_PARAMETERS = {View.class, float.class, int.class,
+            int.class, int.class, int.class};
+    //whether a subclass overrides the AnimationTransformer methods
+    final boolean transformsViews = overridesViewMethods(getClass());
+    //transform of the view transformed through the AnimationTransformer methods
+    private final CardTransform mViewTransform = new CardTransform();
+
+    /**
+     * transform with the fraction of the animation, the transform keeps the properties of the
+     * last frame, so only the properties animated need to be written
+     */
+    public abstract void transformAnimation(CardTransform transform, float fraction,
+                                            int cardWidth, int cardHeight, int fromPosition,
+                                            int toPosition);
+
+    /**
+     * transform with the fraction from the animation interpolator, nothing is written by default
+     */
+    public void transformInterpolatedAnimation(CardTransform transform, float fraction,
+                                               int cardWidth, int cardHeight, int fromPosition,
+                                               int toPosition) {
+    }
+
+    @Override
+    public void transformAnimation(View view, float fraction, int cardWidth, int cardHeight,
+                                   int fromPosition, int toPosition) {
+        mViewTransform.read(view);
+        transformAnimation(mViewTransform, fraction, cardWidth, cardHeight, fromPosition,
+                toPosition);
+        mViewTransform.apply(view);
+    }
+
+    @Override
+    public void transformInterpolatedAnimation(View view, float fraction, int cardWidth,
+                                               int cardHeight, int fromPosition, int toPosition) {
+        mViewTransform.read(view);
+        transformInterpolatedAnimation(mViewTransform, fraction, cardWidth, cardHeight,
+                fromPosition, toPosition);
+        mViewTransform.apply(view);
+    }
+
+    private static boolean overridesViewMethods(Class<?> transformerClass) {
+        try {
+            return transformerClass.getMethod("transformAnimation", VIEW_METHOD_PARAMETERS)
+                    .getDeclaringClass() != CardTransformer.class ||
+                    transformerClass.getMethod("transformInterpolatedAnimation",
+                            VIEW_METHOD_PARAMETERS).getDeclaringClass() != CardTransformer.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.bakerj.infinitecards;
+
+import android.content.Context;
+import android.view.View;
+
+import com.nineoldandroids.view.ViewHelper;
+
+/**
+ * card transformer adapting an AnimationTransformer where there is no card view to transform,
+ * for sampling a baked transformer and capturing the shapes, the card views are transformed by
+ * the animation helper with the AnimationTransformer itself, the transform is written to a view
+ * not attached and laid out at the card size, transformed by the AnimationTransformer, and read
+ * back, so only the properties of a CardTransform are kept, the properties NaN in the transform
+ * are left NaN if the transformer does not write them
+ *
+ * @author BakerJ
+ */
+class CardTransformerAdapter extends CardTransformer {
+    //value written to the probe for the properties NaN in the transform, as views do not take
+    // NaN, the properties still holding it after the transformer are read back as NaN
+    private static final float PROBE_UNSET = -65536f;
+    //transformer adapted
+    private final AnimationTransformer mTransformer;
+    //view not attached, written by the transformer
+    private final View mProbe;
+
+    private CardTransformerAdapter(Context context, AnimationTransformer transformer) {
+        this.mTransformer = transformer;
+        this.mProbe = new View(context);
+    }
+
+    /**
+     * adapt the transformer, the card transformers not overriding the view methods are not
+     * adapted
+     *
+     * @param context     context of the probe view
+     * @param transformer animation transformer, may be null
+     * @return card transformer, null if the transformer is null
+     */
+    static CardTransformer adapt(Context context, AnimationTransformer transformer) {
+        if (transformer == null) {
+            return null;
+        }
+        CardTransformer cardTransformer = asCardTransformer(transformer);
+        return cardTransformer != null ? cardTransformer :
+                new CardTransformerAdapter(context, transformer);
+    }
+
+    /**
+     * get the transformer as a card transformer, if it writes card transforms without views
+     *
+     * @param transformer animation transformer, may be null
+     * @return card transformer, null if the transformer transforms views
+     */
+    static CardTransformer asCardTransformer(AnimationTransformer transformer) {
+        if (transformer instanceof CardTransformer &&
+                !((CardTransformer) transformer).transformsViews) {
+            return (CardTransformer) transformer;
+        }
+        return null;
+    }
+
+    @Override
+    public void transformAnimation(CardTransform transform, float fraction, int cardWidth,
+                                   int cardHeight, int fromPosition, int toPosition) {
+        prepareProbe(transform, cardWidth, cardHeight);
+        mTransformer.transformAnimation(mProbe, fraction, cardWidth, cardHeight, fromPosition,
+                toPosition);
+        readProbe(transform);
+    }
+
+    @Override
+    public void transformInterpolatedAnimation(CardTransform transform, float fraction,
+                                               int cardWidth, int cardHeight, int fromPosition,
+                                               int toPosition) {
+        prepareProbe(transform, cardWidth, cardHeight);
+        mTransformer.transformInterpolatedAnimation(mProbe, fraction, cardWidth, cardHeight,
+                fromPosition, toPosition);
+        readProbe(transform);
+    }
+
+    private void prepareProbe(CardTransform transform, int cardWidth, int cardHeight) {
+        if (mProbe.getWidth() != cardWidth || mProbe.getHeight() != cardHeight) {
+            mProbe.layout(0, 0, cardWidth, cardHeight);
+        }
+        ViewHelper.setScaleX(mProbe, toProbe(transform.scaleX));
+        ViewHelper.setScaleY(mProbe, toProbe(transform.scaleY));
+        ViewHelper.setTranslationX(mProbe, toProbe(transform.translationX));
+        ViewHelper.setTranslationY(mProbe, toProbe(transform.translationY));
+        ViewHelper.setRotation(mProbe, toProbe(transform.rotation));
+        ViewHelper.setRotationX(mProbe, toProbe(transform.rotationX));
+        ViewHelper.setRotationY(mProbe, toProbe(transform.rotationY));
+        ViewHelper.setAlpha(mProbe, toProbe(transform.alpha));
+    }
+
+    private void readProbe(CardTransform transform) {
+        transform.scaleX = fromProbe(ViewHelper.getScaleX(mProbe));
+        transform.scaleY = fromProbe(ViewHelper.getScaleY(mProbe));
+        transform.translationX = fromProbe(ViewHelper.getTranslationX(mProbe));
+        transform.translationY = fromProbe(ViewHelper.getTranslationY(mProbe));
+        transform.rotation = fromProbe(ViewHelper.getRotation(mProbe));
+        transform.rotationX = fromProbe(ViewHelper.getRotationX(mProbe));
+        transform.rotationY = fromProbe(ViewHelper.getRotationY(mProbe));
+        transform.alpha = fromProbe(ViewHelper.getAlpha(mProbe));
+    }
+
+    private static float toProbe(float value) {
+        return Float.isNaN(value) ? PROBE_UNSET : value;
+    }
+
+    private static float fromProbe(float value) {
+        return value == PROBE_UNSET ? Float.NaN : value;
+    }
+}
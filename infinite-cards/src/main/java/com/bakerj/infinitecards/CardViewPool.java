@@ -0,0 +1,134 @@
+package com.bakerj.infinitecards;
+
+import android.view.View;
+import android.widget.BaseAdapter;
+
+import com.nineoldandroids.view.ViewHelper;
+
+import java.util.ArrayList;
+
+/**
+ * pool of the card views removed from the container, keyed by the item view type of the adapter,
+ * the views are passed to the adapter as convertView on the next bind, it is kept while switching
+ * to an adapter of the same class, as the views inflated by another adapter class may not be valid
+ * convertViews of it, such as the view holders in the tags
+ *
+ * @author BakerJ
+ */
+class CardViewPool {
+    //scrap views of each view type
+    private final ArrayList<ArrayList<View>> mScraps = new ArrayList<>();
+    //class of the adapter the scrap views are bound by
+    private Class<?> mAdapterClass;
+    //count of the binds reusing a scrap view, count of the binds inflating a new view
+    private int mHitCount, mMissCount;
+
+    /**
+     * set the adapter binding the views, the pool is cleared unless the adapter is of the same
+     * class as the last one
+     *
+     * @param adapter adapter
+     */
+    void setAdapter(BaseAdapter adapter) {
+        if (adapter.getClass() != mAdapterClass) {
+            mAdapterClass = adapter.getClass();
+            mScraps.clear();
+        }
+        setViewTypeCount(adapter.getViewTypeCount());
+    }
+
+    /**
+     * set the view type count of the adapter, the pool is cleared while the count changes
+     *
+     * @param viewTypeCount view type count
+     */
+    void setViewTypeCount(int viewTypeCount) {
+        if (viewTypeCount == mScraps.size()) {
+            return;
+        }
+        mScraps.clear();
+        for (int i = 0; i < viewTypeCount; i++) {
+            mScraps.add(new ArrayList<View>());
+        }
+    }
+
+    /**
+     * get a scrap view of the specific view type
+     *
+     * @param viewType view type
+     * @return scrap view, null if there is no scrap view
+     */
+    View get(int viewType) {
+        if (!isValidType(viewType)) {
+            return null;
+        }
+        ArrayList<View> scraps = mScraps.get(viewType);
+        return scraps.isEmpty() ? null : scraps.remove(scraps.size() - 1);
+    }
+
+    /**
+     * check whether there is a scrap view of the specific view type
+     *
+     * @param viewType view type
+     * @return true if a scrap view can be got
+     */
+    boolean hasScrap(int viewType) {
+        return isValidType(viewType) && !mScraps.get(viewType).isEmpty();
+    }
+
+    /**
+     * put a view removed from the container into the pool, the properties written by the card
+     * transforms are reset, the transforms are applied in full again while binding anyway
+     *
+     * @param view     card view
+     * @param viewType view type
+     */
+    void put(View view, int viewType) {
+        if (!isValidType(viewType)) {
+            return;
+        }
+        view.setVisibility(View.VISIBLE);
+        ViewHelper.setAlpha(view, 1);
+        ViewHelper.setScaleX(view, 1);
+        ViewHelper.setScaleY(view, 1);
+        ViewHelper.setTranslationX(view, 0);
+        ViewHelper.setTranslationY(view, 0);
+        ViewHelper.setRotation(view, 0);
+        ViewHelper.setRotationX(view, 0);
+        ViewHelper.setRotationY(view, 0);
+        mScraps.get(viewType).add(view);
+    }
+
+    /**
+     * record the result of a bind
+     *
+     * @param convertView scrap view passed to the adapter
+     * @param view        view returned by the adapter
+     */
+    void recordBind(View convertView, View view) {
+        if (convertView != null && convertView == view) {
+            mHitCount++;
+        } else {
+            mMissCount++;
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < mScraps.size(); i++) {
+            mScraps.get(i).clear();
+        }
+    }
+
+    int getHitCount() {
+        return mHitCount;
+    }
+
+    int getMissCount() {
+        return mMissCount;
+    }
+
+    private boolean isValidType(int viewType) {
+        //ITEM_VIEW_TYPE_IGNORE is negative
+        return viewType >= 0 && viewType < mScraps.size();
+    }
+}
@@ -0,0 +1,141 @@
+package com.bakerj.infinitecards;
+
+import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.os.Build;
+import android.provider.Settings;
+import android.view.Choreographer;
+import android.view.animation.Interpolator;
+
+/**
+ * card animator driven by Choreographer frame callbacks, the frame time of the vsync is used, so
+ * all animators in a frame share the same timestamp, the duration and the start delay are scaled
+ * by the animator duration scale of the developer options, as the framework animators are, a
+ * scale of 0 jumps to the end value on the first frame
+ *
+ * @author BakerJ
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+class ChoreographerCardAnimator extends CardAnimator implements Choreographer.FrameCallback {
+    private static final long NANOS_PER_MS = 1000000;
+    private final Choreographer mChoreographer = Choreographer.getInstance();
+    //content resolver to read the animator duration scale below Android O
+    private final ContentResolver mContentResolver;
+    private float mFromValue, mToValue;
+    private long mDuration;
+    private Interpolator mInterpolator;
+    //frame time of the first frame, -1 before the first frame
+    private long mStartTime;
+    private boolean mIsRunning;
+    //animator duration scale, read once for the starts until the next frame, as a cascade
+    // restarts the animator for each card added in a frame, -1 if not read
+    private float mDurationScale = -1;
+
+    ChoreographerCardAnimator(Context context, Callback callback) {
+        super(callback);
+        this.mContentResolver = context.getContentResolver();
+    }
+
+    @Override
+    void start(float fromValue, float toValue, long duration, long startDelay,
+               Interpolator interpolator) {
+        stop();
+        mFromValue = fromValue;
+        mToValue = toValue;
+        float durationScale = getDurationScale();
+        mDuration = (long) (duration * durationScale);
+        startDelay = (long) (startDelay * durationScale);
+        mInterpolator = interpolator;
+        mStartTime = -1;
+        mIsRunning = true;
+        if (startDelay > 0) {
+            mChoreographer.postFrameCallbackDelayed(this, startDelay);
+        } else {
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+
+    /**
+     * get the animator duration scale, read once for the starts until the next frame or cancel,
+     * so a change of the developer options applies to the next animation, while a cascade
+     * starting the animator for each card added in a frame reads the settings once
+     */
+    private float getDurationScale() {
+        if (mDurationScale < 0) {
+            mDurationScale = readDurationScale();
+        }
+        return mDurationScale;
+    }
+
+    @SuppressWarnings("deprecation")
+    private float readDurationScale() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            return ValueAnimator.getDurationScale();
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+            return Settings.Global.getFloat(mContentResolver,
+                    Settings.Global.ANIMATOR_DURATION_SCALE, 1);
+        }
+        return Settings.System.getFloat(mContentResolver,
+                Settings.System.ANIMATOR_DURATION_SCALE, 1);
+    }
+
+    @Override
+    void cancel() {
+        stop();
+        mDurationScale = -1;
+    }
+
+    /**
+     * stop running without forgetting the duration scale, for starting again in the same frame
+     */
+    private void stop() {
+        if (mIsRunning) {
+            mIsRunning = false;
+            mChoreographer.removeFrameCallback(this);
+        }
+    }
+
+    @Override
+    void end() {
+        if (!mIsRunning) {
+            return;
+        }
+        cancel();
+        mCallback.onAnimationFrame(this, mToValue);
+        mCallback.onAnimationEnd(this);
+    }
+
+    @Override
+    boolean isRunning() {
+        return mIsRunning;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mDurationScale = -1;
+        if (!mIsRunning) {
+            return;
+        }
+        if (mStartTime < 0) {
+            mStartTime = frameTimeNanos;
+        }
+        float fraction = mDuration > 0 ?
+                (float) (frameTimeNanos - mStartTime) / (mDuration * NANOS_PER_MS) : 1;
+        if (fraction >= 1) {
+            mIsRunning = false;
+            mCallback.onAnimationFrame(this, getValue(mFromValue, mToValue, 1, mInterpolator));
+            //the callback may start the animator again
+            if (!mIsRunning) {
+                mCallback.onAnimationEnd(this);
+            }
+            return;
+        }
+        mCallback.onAnimationFrame(this, getValue(mFromValue, mToValue, fraction, mInterpolator));
+        if (mIsRunning) {
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+}
@@ -3,18 +3,26 @@ package com.bakerj.infinitecards;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.database.DataSetObserver;
+import android.graphics.Canvas;
+import android.os.Build;
 import android.support.annotation.AttrRes;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.util.AttributeSet;
 import android.view.Gravity;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
 import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
 import android.view.animation.Interpolator;
 import android.widget.BaseAdapter;
 import android.widget.FrameLayout;
 
 import com.bakerj.infinitecards.lib.R;
 
+import java.util.concurrent.Executor;
+
 /**
  * @author BakerJ
  *         https://github.com/BakerJQ/InfiniteCards
@@ -27,8 +35,33 @@ public class InfiniteCardView extends FrameLayout {
      * ANIM_TYPE_FRONT_TO_LAST:moving the first card to last position by custom animation, common animation for others
      */
     public static final int ANIM_TYPE_FRONT = 0, ANIM_TYPE_SWITCH = 1, ANIM_TYPE_FRONT_TO_LAST = 2;
+    /*
+     * Four policies of the bringCardToFront requests received while animating
+     * REQUEST_POLICY_DROP:drop the request
+     * REQUEST_POLICY_QUEUE:handle the requests one by one after the animation, a request same as
+     * the last one is collapsed, and at most 8 requests are kept, the later ones are dropped
+     * REQUEST_POLICY_COALESCE:handle the latest request after the animation
+     * REQUEST_POLICY_RETARGET:run the animation from the current fraction to the end 4 times
+     * faster, it is not blended into the next one, then handle the latest request
+     * The positions of the requests refer to the cards when each request is handled, after the
+     * animations before it, the clicked cards are brought to front wherever they are then
+     */
+    public static final int REQUEST_POLICY_DROP = 0, REQUEST_POLICY_QUEUE = 1,
+            REQUEST_POLICY_COALESCE = 2, REQUEST_POLICY_RETARGET = 3;
+    /*
+     * Three policies of promoting the cards to hardware layers while animating
+     * LAYER_POLICY_OFF:do not promote the cards
+     * LAYER_POLICY_MOVING:promote the cards moving in the animation
+     * LAYER_POLICY_ALL_VISIBLE:promote all cards bound with views
+     */
+    public static final int LAYER_POLICY_OFF = 0, LAYER_POLICY_MOVING = 1,
+            LAYER_POLICY_ALL_VISIBLE = 2;
     //cardHeight / cardWidth = CARD_SIZE_RATIO
     private static final float CARD_SIZE_RATIO = 0.5f;
+    //color of the placeholders shown while the cards are inflated asynchronously
+    private static final int PLACEHOLDER_COLOR = 0xffeeeeee;
+    //corner radius and shadow size of the shapes drawn instead of the deep cards, in dp
+    private static final float SHAPE_CORNER_RADIUS = 4, SHAPE_SHADOW_SIZE = 2;
     //cardHeight / cardWidth = mCardRatio
     private float mCardRatio = CARD_SIZE_RATIO;
     //animation helper
@@ -36,6 +69,44 @@ public class InfiniteCardView extends FrameLayout {
     //view adapter
     private BaseAdapter mAdapter;
     private int mCardWidth, mCardHeight;
+    private int mPlaceholderColor = PLACEHOLDER_COLOR;
+    //is dragging the cards by touch enabled
+    private boolean mSwipeEnabled = false;
+    //is the card being dragged
+    private boolean mIsBeingDragged = false;
+    //is the last event intercepted an ACTION_DOWN, which also reaches onTouchEvent when no
+    // child takes it
+    private boolean mIsDownIntercepted;
+    //touch slop, fling velocity in pixels per second
+    private int mTouchSlop, mMinFlingVelocity, mMaxFlingVelocity;
+    //touch down position, 1 for dragging right and -1 for dragging left
+    private float mDownX, mDownY;
+    private int mDragDirection;
+    //velocity tracker for the dragging, obtained once and cleared for each touch
+    private VelocityTracker mVelocityTracker;
+    //the only observer of the adapter, unregistered while swapping the adapter, so the observers
+    // do not pile up, it stays registered while detached from window, only to mark the cards
+    // stale, so a card view attached again without any change is not rebound
+    private final DataSetObserver mDataSetObserver = new DataSetObserver() {
+        @Override
+        public void onChanged() {
+            if (mIsAttached) {
+                mAnimationHelper.notifyDataSetChanged(mAdapter);
+            } else {
+                mIsDataSetStale = true;
+            }
+        }
+    };
+    //is the observer registered to the adapter, is the adapter changed while detached, is
+    // attached to window
+    private boolean mIsObserverRegistered = false, mIsDataSetStale = false, mIsAttached = false;
+    //click listener shared by all card views, the card item is held by the tag of the view
+    private final OnClickListener mCardClickListener = new OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            bringCardToFront((CardItem) v.getTag(R.id.infinite_card_item));
+        }
+    };
 
     public InfiniteCardView(@NonNull Context context) {
         this(context, null);
@@ -49,6 +120,8 @@ public class InfiniteCardView extends FrameLayout {
         super(context, attrs, defStyleAttr);
         init(context, attrs);
         setClickable(true);
+        //cards are drawn by Z index instead of child index
+        setChildrenDrawingOrderEnabled(true);
     }
 
     private void init(Context context, AttributeSet attrs) {
@@ -56,6 +129,22 @@ public class InfiniteCardView extends FrameLayout {
         int animDuration = CardAnimationHelper.ANIM_DURATION;
         int animAddRemoveDuration = CardAnimationHelper.ANIM_ADD_REMOVE_DURATION;
         int animAddRemoveDelay = CardAnimationHelper.ANIM_ADD_REMOVE_DELAY;
+        int visibleCardCount = 0;
+        int requestPolicy = REQUEST_POLICY_DROP;
+        int layerPolicy = LAYER_POLICY_MOVING;
+        int layerMemoryBudget = CardLayerManager.DEFAULT_LAYER_MEMORY_BUDGET;
+        int snapshotDepth = 0;
+        int snapshotMemoryBudget = CardSnapshotManager.DEFAULT_SNAPSHOT_MEMORY_BUDGET;
+        int shapeDepth = 0;
+        int shapeColor = CardShapeRenderer.DEFAULT_SHAPE_COLOR;
+        int shapeShadowColor = CardShapeRenderer.DEFAULT_SHADOW_COLOR;
+        float density = context.getResources().getDisplayMetrics().density;
+        float shapeCornerRadius = SHAPE_CORNER_RADIUS * density;
+        float shapeShadowSize = SHAPE_SHADOW_SIZE * density;
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        mTouchSlop = configuration.getScaledTouchSlop();
+        mMinFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        mMaxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
         if (attrs != null) {
             TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.InfiniteCardView);
             animType = ta.getInt(R.styleable.InfiniteCardView_animType, ANIM_TYPE_FRONT);
@@ -65,11 +154,38 @@ public class InfiniteCardView extends FrameLayout {
                     CardAnimationHelper.ANIM_ADD_REMOVE_DURATION);
             animAddRemoveDelay = ta.getInt(R.styleable.InfiniteCardView_animAddRemoveDelay,
                     CardAnimationHelper.ANIM_ADD_REMOVE_DELAY);
+            visibleCardCount = ta.getInt(R.styleable.InfiniteCardView_visibleCardCount, 0);
+            requestPolicy = ta.getInt(R.styleable.InfiniteCardView_requestPolicy, REQUEST_POLICY_DROP);
+            mSwipeEnabled = ta.getBoolean(R.styleable.InfiniteCardView_swipeEnabled, false);
+            layerPolicy = ta.getInt(R.styleable.InfiniteCardView_layerPolicy, LAYER_POLICY_MOVING);
+            layerMemoryBudget = ta.getInt(R.styleable.InfiniteCardView_layerMemoryBudget,
+                    CardLayerManager.DEFAULT_LAYER_MEMORY_BUDGET);
+            snapshotDepth = ta.getInt(R.styleable.InfiniteCardView_snapshotDepth, 0);
+            snapshotMemoryBudget = ta.getInt(R.styleable.InfiniteCardView_snapshotMemoryBudget,
+                    CardSnapshotManager.DEFAULT_SNAPSHOT_MEMORY_BUDGET);
+            shapeDepth = ta.getInt(R.styleable.InfiniteCardView_shapeDepth, 0);
+            shapeColor = ta.getColor(R.styleable.InfiniteCardView_shapeColor, shapeColor);
+            shapeCornerRadius = ta.getDimension(R.styleable.InfiniteCardView_shapeCornerRadius,
+                    shapeCornerRadius);
+            shapeShadowColor = ta.getColor(R.styleable.InfiniteCardView_shapeShadowColor,
+                    shapeShadowColor);
+            shapeShadowSize = ta.getDimension(R.styleable.InfiniteCardView_shapeShadowSize,
+                    shapeShadowSize);
             ta.recycle();
         }
         mAnimationHelper = new CardAnimationHelper(animType, animDuration, this);
         mAnimationHelper.setAnimAddRemoveDuration(animAddRemoveDuration);
         mAnimationHelper.setAnimAddRemoveDelay(animAddRemoveDelay);
+        mAnimationHelper.setVisibleCardCount(visibleCardCount);
+        mAnimationHelper.setRequestPolicy(requestPolicy);
+        mAnimationHelper.setLayerPolicy(layerPolicy);
+        mAnimationHelper.setLayerMemoryBudget(layerMemoryBudget);
+        mAnimationHelper.setSnapshotDepth(snapshotDepth);
+        mAnimationHelper.setSnapshotMemoryBudget(snapshotMemoryBudget);
+        mAnimationHelper.setShapeDepth(shapeDepth);
+        mAnimationHelper.setShapeColor(shapeColor);
+        mAnimationHelper.setShapeCornerRadius(shapeCornerRadius);
+        mAnimationHelper.setShapeShadow(shapeShadowColor, shapeShadowSize);
     }
 
     @Override
@@ -87,6 +203,130 @@ public class InfiniteCardView extends FrameLayout {
         mAnimationHelper.initAdapterView(mAdapter, resetAdapter);
     }
 
+    @Override
+    public boolean onInterceptTouchEvent(MotionEvent ev) {
+        mIsDownIntercepted = ev.getActionMasked() == MotionEvent.ACTION_DOWN;
+        if (mSwipeEnabled && handleSwipe(ev)) {
+            return true;
+        }
+        return super.onInterceptTouchEvent(ev);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        //an ACTION_DOWN not taken by any child reaches here after intercepting, it is handled
+        // already
+        boolean isDownHandled = mIsDownIntercepted &&
+                event.getActionMasked() == MotionEvent.ACTION_DOWN;
+        mIsDownIntercepted = false;
+        if (mSwipeEnabled && !isDownHandled && handleSwipe(event)) {
+            return true;
+        }
+        return super.onTouchEvent(event);
+    }
+
+    /**
+     * drag the card in the second position to front by swiping horizontally, the swiping
+     * distance is fed to the animation transformers as fraction directly
+     *
+     * @param ev touch event
+     * @return true if the card is being dragged
+     */
+    private boolean handleSwipe(MotionEvent ev) {
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        switch (ev.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mDownX = ev.getX();
+                mDownY = ev.getY();
+                mIsBeingDragged = false;
+                mVelocityTracker.clear();
+                mVelocityTracker.addMovement(ev);
+                break;
+            case MotionEvent.ACTION_MOVE:
+                mVelocityTracker.addMovement(ev);
+                float dx = ev.getX() - mDownX;
+                if (!mIsBeingDragged && mCardWidth > 0 && Math.abs(dx) > mTouchSlop &&
+                        Math.abs(dx) > Math.abs(ev.getY() - mDownY) && mAnimationHelper.startDrag()) {
+                    mIsBeingDragged = true;
+                    mDragDirection = dx > 0 ? 1 : -1;
+                    //start from the touch slop, so the card does not jump
+                    mDownX += mDragDirection * mTouchSlop;
+                    if (getParent() != null) {
+                        getParent().requestDisallowInterceptTouchEvent(true);
+                    }
+                }
+                if (mIsBeingDragged) {
+                    mAnimationHelper.dragTo((ev.getX() - mDownX) * mDragDirection / mCardWidth);
+                }
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                if (mIsBeingDragged) {
+                    mIsBeingDragged = false;
+                    float velocity = 0;
+                    if (ev.getActionMasked() == MotionEvent.ACTION_UP) {
+                        mVelocityTracker.addMovement(ev);
+                        mVelocityTracker.computeCurrentVelocity(1000, mMaxFlingVelocity);
+                        velocity = mVelocityTracker.getXVelocity() * mDragDirection / mCardWidth;
+                    }
+                    mAnimationHelper.endDrag(velocity, (float) mMinFlingVelocity / mCardWidth);
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        return mIsBeingDragged;
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
+        mAnimationHelper.onLayout();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mIsAttached = true;
+        if (mIsDataSetStale) {
+            //the adapter changed while detached
+            mIsDataSetStale = false;
+            mAnimationHelper.notifyDataSetChanged(mAdapter);
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && getDisplay() != null) {
+            mAnimationHelper.setRefreshRate(getDisplay().getRefreshRate());
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mIsAttached = false;
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        //the shapes are behind all card views, laid out in the center as the card views
+        int left = getPaddingLeft() + (getWidth() - getPaddingLeft() - getPaddingRight() -
+                mCardWidth) / 2;
+        int top = getPaddingTop() + (getHeight() - getPaddingTop() - getPaddingBottom() -
+                mCardHeight) / 2;
+        mAnimationHelper.drawCardShapes(canvas, left, top);
+        super.dispatchDraw(canvas);
+    }
+
+    @Override
+    protected int getChildDrawingOrder(int childCount, int i) {
+        return mAnimationHelper.getChildDrawingOrder(childCount, i);
+    }
+
     void addCardView(CardItem card) {
         addView(getCardView(card));
     }
@@ -95,30 +335,60 @@ public class InfiniteCardView extends FrameLayout {
         addView(getCardView(card), position);
     }
 
-    private View getCardView(final CardItem card) {
+    /**
+     * create a placeholder view for the card waiting for its view inflated asynchronously
+     *
+     * @return placeholder view
+     */
+    View createPlaceholderView() {
+        View placeholder = new View(getContext());
+        placeholder.setBackgroundColor(mPlaceholderColor);
+        return placeholder;
+    }
+
+    /**
+     * move the card view to the top of the child order, the view is detached and attached again
+     * instead of bringToFront, so no layout is requested
+     *
+     * @param view card view
+     */
+    void moveCardViewToTop(View view) {
+        if (indexOfChild(view) == getChildCount() - 1) {
+            return;
+        }
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        detachViewFromParent(view);
+        attachViewToParent(view, -1, params);
+        invalidate();
+    }
+
+    private View getCardView(CardItem card) {
         View view = card.view;
-        FrameLayout.LayoutParams layoutParams = new FrameLayout.LayoutParams(mCardWidth,
-                mCardHeight);
-        layoutParams.gravity = Gravity.CENTER;
-        view.setLayoutParams(layoutParams);
-        view.setOnClickListener(new OnClickListener() {
-            @Override
-            public void onClick(View v) {
-                bringCardToFront(card);
-            }
-        });
+        //the layout params of a recycled view are reused
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        if (!(params instanceof FrameLayout.LayoutParams) || params.width != mCardWidth ||
+                params.height != mCardHeight ||
+                ((FrameLayout.LayoutParams) params).gravity != Gravity.CENTER) {
+            FrameLayout.LayoutParams layoutParams = new FrameLayout.LayoutParams(mCardWidth,
+                    mCardHeight);
+            layoutParams.gravity = Gravity.CENTER;
+            view.setLayoutParams(layoutParams);
+        }
+        view.setTag(R.id.infinite_card_item, card);
+        view.setOnClickListener(mCardClickListener);
         return view;
     }
 
     private void bringCardToFront(CardItem card) {
-        if (!isClickable()) {
+        if (!isClickable() || card == null) {
             return;
         }
         mAnimationHelper.bringCardToFront(card);
     }
 
     /**
-     * bring the specific position card to front
+     * bring the specific position card to front, the position of a request received while
+     * animating refers to the cards when the request is handled by the request policy
      *
      * @param position position
      */
@@ -132,16 +402,65 @@ public class InfiniteCardView extends FrameLayout {
      * @param adapter adapter
      */
     public void setAdapter(BaseAdapter adapter) {
+        unregisterDataSetObserver();
         this.mAdapter = adapter;
-        mAdapter.registerDataSetObserver(new DataSetObserver() {
-            @Override
-            public void onChanged() {
-                mAnimationHelper.notifyDataSetChanged(mAdapter);
-            }
-        });
+        mIsDataSetStale = false;
+        registerDataSetObserver();
         mAnimationHelper.initAdapterView(adapter, true);
     }
 
+    private void registerDataSetObserver() {
+        if (mAdapter != null && !mIsObserverRegistered) {
+            mAdapter.registerDataSetObserver(mDataSetObserver);
+            mIsObserverRegistered = true;
+        }
+    }
+
+    private void unregisterDataSetObserver() {
+        if (mAdapter != null && mIsObserverRegistered) {
+            mAdapter.unregisterDataSetObserver(mDataSetObserver);
+            mIsObserverRegistered = false;
+        }
+    }
+
+    /**
+     * rebind the card of the specific adapter index, instead of rebinding all cards by
+     * notifyDataSetChanged of the adapter
+     *
+     * @param adapterIndex adapter index changed
+     */
+    public void notifyItemChanged(int adapterIndex) {
+        mAnimationHelper.notifyItemRangeChanged(adapterIndex, 1);
+    }
+
+    /**
+     * rebind the cards of the specific adapter index range
+     *
+     * @param adapterIndex first adapter index changed
+     * @param itemCount    count of the items changed
+     */
+    public void notifyItemRangeChanged(int adapterIndex, int itemCount) {
+        mAnimationHelper.notifyItemRangeChanged(adapterIndex, itemCount);
+    }
+
+    /**
+     * add a card for the item inserted into the adapter, the card is added to the back
+     *
+     * @param adapterIndex adapter index inserted
+     */
+    public void notifyItemInserted(int adapterIndex) {
+        mAnimationHelper.notifyItemInserted(adapterIndex);
+    }
+
+    /**
+     * remove the card of the item removed from the adapter
+     *
+     * @param adapterIndex adapter index removed
+     */
+    public void notifyItemRemoved(int adapterIndex) {
+        mAnimationHelper.notifyItemRemoved(adapterIndex);
+    }
+
     public void setTransformerToFront(AnimationTransformer toFrontTransformer) {
         mAnimationHelper.setTransformerToFront(toFrontTransformer);
     }
@@ -190,11 +509,180 @@ public class InfiniteCardView extends FrameLayout {
         mAnimationHelper.setAnimAddRemoveInterpolator(animAddRemoveInterpolator);
     }
 
+    /**
+     * set the max count of the cards bound with views, cards outside are bound while moving into
+     * the visible window
+     *
+     * @param visibleCardCount visible card count, 0 for binding all cards
+     */
+    public void setVisibleCardCount(int visibleCardCount) {
+        mAnimationHelper.setVisibleCardCount(visibleCardCount);
+    }
+
+    /**
+     * prefetch the content of the cards coming next while idle after each animation, which are
+     * the cards right behind the visible window, nothing is prefetched while all cards are bound
+     *
+     * @param prefetcher    prefetcher, null for no prefetching
+     * @param prefetchCount count of the cards prefetched each time
+     */
+    public void setCardPrefetcher(CardPrefetcher prefetcher, int prefetchCount) {
+        mAnimationHelper.setCardPrefetcher(prefetcher, prefetchCount);
+    }
+
+    /**
+     * inflate the card views on the executor while setting an adapter, placeholders are shown
+     * until each card is inflated, the cards are attached in order of the positions, and the add
+     * animation of each card starts as it arrives, so the first frame is not blocked by
+     * inflating the whole deck
+     *
+     * @param inflater inflater called on the executor, null for inflating on the main thread
+     * @param executor background executor
+     */
+    public void setAsyncCardInflater(AsyncCardInflater inflater, Executor executor) {
+        mAnimationHelper.setAsyncCardInflater(inflater, executor);
+    }
+
+    /**
+     * set the color of the placeholders shown while the cards are inflated asynchronously
+     *
+     * @param placeholderColor placeholder color
+     */
+    public void setCardPlaceholderColor(int placeholderColor) {
+        this.mPlaceholderColor = placeholderColor;
+    }
+
+    /**
+     * set the policy of the bringCardToFront requests received while animating
+     *
+     * @param requestPolicy one of REQUEST_POLICY_DROP, REQUEST_POLICY_QUEUE,
+     *                      REQUEST_POLICY_COALESCE and REQUEST_POLICY_RETARGET
+     */
+    public void setRequestPolicy(int requestPolicy) {
+        mAnimationHelper.setRequestPolicy(requestPolicy);
+    }
+
+    /**
+     * set the policy of promoting the cards to hardware layers while animating
+     *
+     * @param layerPolicy one of LAYER_POLICY_OFF, LAYER_POLICY_MOVING and
+     *                    LAYER_POLICY_ALL_VISIBLE
+     */
+    public void setLayerPolicy(int layerPolicy) {
+        mAnimationHelper.setLayerPolicy(layerPolicy);
+    }
+
+    /**
+     * set the max bytes of the hardware layers promoted at once, each card layer takes
+     * cardWidth * cardHeight * 4 bytes
+     *
+     * @param layerMemoryBudget layer memory budget in bytes
+     */
+    public void setLayerMemoryBudget(int layerMemoryBudget) {
+        mAnimationHelper.setLayerMemoryBudget(layerMemoryBudget);
+    }
+
+    /**
+     * draw the cards from the specific depth by downscaled bitmap snapshots instead of their
+     * views, the card views are restored while moving in front of the depth
+     *
+     * @param snapshotDepth position of the first card snapshotted, 0 for no snapshot
+     */
+    public void setSnapshotDepth(int snapshotDepth) {
+        mAnimationHelper.setSnapshotDepth(snapshotDepth);
+    }
+
+    /**
+     * set the max bytes of the snapshots, cached or shown, the least recently used snapshots not
+     * shown are evicted, and the cards whose snapshots do not fit keep their views
+     *
+     * @param snapshotMemoryBudget snapshot memory budget in bytes
+     */
+    public void setSnapshotMemoryBudget(int snapshotMemoryBudget) {
+        mAnimationHelper.setSnapshotMemoryBudget(snapshotMemoryBudget);
+    }
+
+    /**
+     * draw the cards from the specific depth by rounded rectangles instead of their views, their
+     * geometry comes from the common animation transformer, the shapes can not be clicked
+     *
+     * @param shapeDepth position of the first card drawn by a shape, 0 for no shape
+     */
+    public void setShapeDepth(int shapeDepth) {
+        mAnimationHelper.setShapeDepth(shapeDepth);
+    }
+
+    /**
+     * set the color of the shapes drawn instead of the deep cards
+     *
+     * @param shapeColor shape color
+     */
+    public void setShapeColor(int shapeColor) {
+        mAnimationHelper.setShapeColor(shapeColor);
+    }
+
+    /**
+     * set the corner radius of the shapes drawn instead of the deep cards
+     *
+     * @param shapeCornerRadius corner radius in pixels
+     */
+    public void setShapeCornerRadius(float shapeCornerRadius) {
+        mAnimationHelper.setShapeCornerRadius(shapeCornerRadius);
+    }
+
+    /**
+     * set the shadow drawn around the shapes, mostly below them
+     *
+     * @param shadowColor shadow color
+     * @param shadowSize  shadow size in pixels, 0 for no shadow
+     */
+    public void setShapeShadow(int shadowColor, float shadowSize) {
+        mAnimationHelper.setShapeShadow(shadowColor, shadowSize);
+    }
+
+    /**
+     * set whether the card in the second position can be dragged to front by swiping
+     * horizontally
+     *
+     * @param swipeEnabled swipe enabled
+     */
+    public void setSwipeEnabled(boolean swipeEnabled) {
+        this.mSwipeEnabled = swipeEnabled;
+    }
+
+    /**
+     * set the listener of the frame metrics of the animations, the metrics are recorded only
+     * while the listener is set
+     *
+     * @param metricsListener metrics listener, null to stop recording
+     */
+    public void setAnimationMetricsListener(AnimationMetricsListener metricsListener) {
+        mAnimationHelper.setAnimationMetricsListener(metricsListener);
+    }
+
     public void setCardSizeRatio(float cardSizeRatio) {
         this.mCardRatio = cardSizeRatio;
         setCardSize(false);
     }
 
+    /**
+     * get the count of the card binds reusing a recycled view as convertView
+     *
+     * @return hit count
+     */
+    public int getRecycledViewHitCount() {
+        return mAnimationHelper.getRecycledViewHitCount();
+    }
+
+    /**
+     * get the count of the card binds without reusing a recycled view
+     *
+     * @return miss count
+     */
+    public int getRecycledViewMissCount() {
+        return mAnimationHelper.getRecycledViewMissCount();
+    }
+
     public boolean isAnimating() {
         return mAnimationHelper.isAnimating();
     }
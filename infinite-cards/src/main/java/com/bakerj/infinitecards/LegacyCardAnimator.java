@@ -0,0 +1,84 @@
+package com.bakerj.infinitecards;
+
+import android.view.animation.Interpolator;
+
+import com.nineoldandroids.animation.Animator;
+import com.nineoldandroids.animation.ValueAnimator;
+
+/**
+ * card animator driven by the nineoldandroids ValueAnimator for legacy devices, the animated
+ * fraction is read instead of the animated value, so no Float is boxed
+ *
+ * @author BakerJ
+ */
+class LegacyCardAnimator extends CardAnimator implements Animator.AnimatorListener,
+        ValueAnimator.AnimatorUpdateListener {
+    private final ValueAnimator mValueAnimator = ValueAnimator.ofFloat(0, 1);
+    private float mFromValue, mToValue;
+    //is canceling the value animator, which calls onAnimationEnd
+    private boolean mIsCanceling;
+
+    LegacyCardAnimator(Callback callback) {
+        super(callback);
+        mValueAnimator.addUpdateListener(this);
+        mValueAnimator.addListener(this);
+    }
+
+    @Override
+    void start(float fromValue, float toValue, long duration, long startDelay,
+               Interpolator interpolator) {
+        cancel();
+        mFromValue = fromValue;
+        mToValue = toValue;
+        mValueAnimator.setDuration(duration);
+        mValueAnimator.setStartDelay(startDelay);
+        mValueAnimator.setInterpolator(interpolator);
+        mValueAnimator.start();
+    }
+
+    @Override
+    void cancel() {
+        mIsCanceling = true;
+        mValueAnimator.cancel();
+        mIsCanceling = false;
+    }
+
+    @Override
+    void end() {
+        mValueAnimator.end();
+    }
+
+    @Override
+    boolean isRunning() {
+        return mValueAnimator.isStarted();
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        //the animated fraction is interpolated already
+        mCallback.onAnimationFrame(this, mFromValue + (mToValue - mFromValue) *
+                animation.getAnimatedFraction());
+    }
+
+    @Override
+    public void onAnimationStart(Animator animation) {
+
+    }
+
+    @Override
+    public void onAnimationEnd(Animator animation) {
+        if (!mIsCanceling) {
+            mCallback.onAnimationEnd(this);
+        }
+    }
+
+    @Override
+    public void onAnimationCancel(Animator animation) {
+
+    }
+
+    @Override
+    public void onAnimationRepeat(Animator animation) {
+
+    }
+}
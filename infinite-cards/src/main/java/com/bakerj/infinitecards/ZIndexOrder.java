@@ -0,0 +1,199 @@
+package com.bakerj.infinitecards;
+
+import android.view.ViewGroup;
+
+/**
+ * drawing order of the card views sorted by Z index, the card with bigger Z index is drawn
+ * first, so the card with smaller Z index is in front of the card with bigger Z index
+ *
+ * @author BakerJ
+ */
+class ZIndexOrder {
+    //card items sorted by drawing order
+    private CardItem[] mCards = new CardItem[0];
+    //child index in the container of each sorted card item
+    private int[] mChildIndexes = new int[0];
+    //card count
+    private int mCount;
+    //whether every card view is a child of the container
+    private boolean mValid;
+    //cards whose Z index changed since the last sort
+    private CardItem[] mChangedCards = new CardItem[0];
+    private int mChangedCount;
+    //whether to sort regardless of the changed cards, while there are more changed cards than
+    // the cards drawn
+    private boolean mIsChangedOverflow;
+
+    /**
+     * rebuild the index while card views are added or removed
+     *
+     * @param container card container view
+     * @param cards     card items ordered by position
+     */
+    void rebuild(ViewGroup container, CardDeck cards) {
+        rebuild(container, cards, null);
+    }
+
+    /**
+     * rebuild the index while card views are added or removed
+     *
+     * @param container    card container view
+     * @param cards        card items ordered by position
+     * @param leavingCards card items removed from the adapter but still animating, may be null
+     */
+    void rebuild(ViewGroup container, CardDeck cards, CardDeck leavingCards) {
+        //only the cards bound with views are drawn
+        mCount = countViews(cards) + countViews(leavingCards);
+        if (mCards.length < mCount) {
+            mCards = new CardItem[mCount];
+            mChildIndexes = new int[mCount];
+            mChangedCards = new CardItem[mCount];
+        }
+        //cards in the last position are drawn first
+        mValid = true;
+        int i = fill(container, cards, mCount - 1);
+        fill(container, leavingCards, i);
+        for (int j = mCount; j < mCards.length; j++) {
+            mCards[j] = null;
+        }
+        clearChanged();
+        sort();
+    }
+
+    private int countViews(CardDeck cards) {
+        int count = 0;
+        for (int position = 0; cards != null && position < cards.size(); position++) {
+            if (cards.get(position).view != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * fill the cards bound with views from the specific index backward
+     *
+     * @return index to fill next
+     */
+    private int fill(ViewGroup container, CardDeck cards, int i) {
+        for (int position = 0; cards != null && position < cards.size(); position++) {
+            CardItem card = cards.get(position);
+            if (card.view == null) {
+                continue;
+            }
+            mCards[i] = card;
+            card.drawingIndex = i;
+            mChildIndexes[i] = container.indexOfChild(card.view);
+            if (mChildIndexes[i] < 0) {
+                mValid = false;
+            }
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * sort the cards by Z index, as Z index changes a little between frames, the order is
+     * nearly sorted, so insertion sort takes O(n) for most frames
+     *
+     * @return whether the drawing order changed
+     */
+    boolean sort() {
+        boolean changed = false;
+        for (int i = 1; i < mCount; i++) {
+            CardItem card = mCards[i];
+            int childIndex = mChildIndexes[i];
+            int j = i - 1;
+            while (j >= 0 && mCards[j].zIndex < card.zIndex) {
+                mCards[j + 1] = mCards[j];
+                mCards[j + 1].drawingIndex = j + 1;
+                mChildIndexes[j + 1] = mChildIndexes[j];
+                j--;
+            }
+            if (j != i - 1) {
+                mCards[j + 1] = card;
+                card.drawingIndex = j + 1;
+                mChildIndexes[j + 1] = childIndex;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * record a card whose Z index changed, for sorting the changed cards only
+     *
+     * @param card card item
+     */
+    void onZIndexChanged(CardItem card) {
+        if (mChangedCount == mChangedCards.length) {
+            mIsChangedOverflow = true;
+            return;
+        }
+        mChangedCards[mChangedCount++] = card;
+    }
+
+    /**
+     * sort the cards only while one of the cards whose Z index changed is out of order with its
+     * neighbours, as the other neighbours keep their order, so the pass is skipped for the frames
+     * not changing the relative order
+     *
+     * @return whether the drawing order changed
+     */
+    boolean sortChanged() {
+        boolean outOfOrder = mIsChangedOverflow;
+        for (int i = 0; i < mChangedCount && !outOfOrder; i++) {
+            outOfOrder = !isInOrder(mChangedCards[i]);
+        }
+        clearChanged();
+        return outOfOrder && sort();
+    }
+
+    /**
+     * whether the card is in order with its neighbours, the cards not drawn are always in order
+     */
+    private boolean isInOrder(CardItem card) {
+        int i = card.drawingIndex;
+        if (i < 0 || i >= mCount || mCards[i] != card) {
+            return true;
+        }
+        return (i == 0 || mCards[i - 1].zIndex >= card.zIndex) &&
+                (i == mCount - 1 || card.zIndex >= mCards[i + 1].zIndex);
+    }
+
+    private void clearChanged() {
+        for (int i = 0; i < mChangedCount; i++) {
+            mChangedCards[i] = null;
+        }
+        mChangedCount = 0;
+        mIsChangedOverflow = false;
+    }
+
+    /**
+     * get the child index to draw for the specific drawing iteration
+     *
+     * @param childCount child count of the container
+     * @param i          drawing iteration
+     * @return child index
+     */
+    int getChildDrawingOrder(int childCount, int i) {
+        if (!mValid || childCount != mCount) {
+            return i;
+        }
+        return mChildIndexes[i];
+    }
+
+    /**
+     * get the card drawn at the specific drawing iteration
+     *
+     * @param i drawing iteration
+     * @return card item
+     */
+    CardItem get(int i) {
+        return mCards[i];
+    }
+
+    int size() {
+        return mCount;
+    }
+}
@@ -1,26 +1,19 @@
 package com.bakerj.infinitecards.transformer;
 
-import android.view.View;
-
-import com.bakerj.infinitecards.AnimationTransformer;
-import com.nineoldandroids.view.ViewHelper;
+import com.bakerj.infinitecards.CardTransform;
+import com.bakerj.infinitecards.CardTransformer;
 
 /**
  * @author BakerJ
  */
-public class DefaultCommonTransformer implements AnimationTransformer {
+public class DefaultCommonTransformer extends CardTransformer {
     @Override
-    public void transformAnimation(View view, float fraction, int cardWidth, int cardHeight, int fromPosition, int toPosition) {
+    public void transformAnimation(CardTransform transform, float fraction, int cardWidth, int cardHeight, int fromPosition, int toPosition) {
         int positionCount = fromPosition - toPosition;
         float scale = (0.8f - 0.1f * fromPosition) + (0.1f * fraction * positionCount);
-        ViewHelper.setScaleX(view, scale);
-        ViewHelper.setScaleY(view, scale);
-        ViewHelper.setTranslationY(view, -cardHeight * (0.8f - scale) * 0.5f - cardWidth * (0.02f *
-                fromPosition - 0.02f * fraction * positionCount));
-    }
-
-    @Override
-    public void transformInterpolatedAnimation(View view, float fraction, int cardWidth, int cardHeight, int fromPosition, int toPosition) {
-
+        transform.scaleX = scale;
+        transform.scaleY = scale;
+        transform.translationY = -cardHeight * (0.8f - scale) * 0.5f - cardWidth * (0.02f *
+                fromPosition - 0.02f * fraction * positionCount);
     }
 }
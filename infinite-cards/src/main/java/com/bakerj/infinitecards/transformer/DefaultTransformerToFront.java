@@ -1,33 +1,26 @@
 package com.bakerj.infinitecards.transformer;
 
-import android.view.View;
-
-import com.bakerj.infinitecards.AnimationTransformer;
-import com.nineoldandroids.view.ViewHelper;
+import com.bakerj.infinitecards.CardTransform;
+import com.bakerj.infinitecards.CardTransformer;
 
 /**
  * @author BakerJ
  */
-public class DefaultTransformerToFront implements AnimationTransformer {
+public class DefaultTransformerToFront extends CardTransformer {
     @Override
-    public void transformAnimation(View view, float fraction, int cardWidth, int cardHeight,
-                                   int fromPosition, int toPosition) {
+    public void transformAnimation(CardTransform transform, float fraction, int cardWidth,
+                                   int cardHeight, int fromPosition, int toPosition) {
         int positionCount = fromPosition - toPosition;
         float scale = (0.8f - 0.1f * fromPosition) + (0.1f * fraction * positionCount);
-        ViewHelper.setScaleX(view, scale);
-        ViewHelper.setScaleY(view, scale);
-        ViewHelper.setRotationX(view, 180 * (1 - fraction));
+        transform.scaleX = scale;
+        transform.scaleY = scale;
+        transform.rotationX = 180 * (1 - fraction);
         if (fraction < 0.5) {
-            ViewHelper.setTranslationY(view, -cardHeight * (0.8f - scale) * 0.5f - cardWidth * 0.02f
-                    * fromPosition - cardHeight * fraction);
+            transform.translationY = -cardHeight * (0.8f - scale) * 0.5f - cardWidth * 0.02f
+                    * fromPosition - cardHeight * fraction;
         } else {
-            ViewHelper.setTranslationY(view, -cardHeight * (0.8f - scale) * 0.5f - cardWidth * (0.02f *
-                    fromPosition - 0.02f * fraction * positionCount) - cardHeight * (1 - fraction));
+            transform.translationY = -cardHeight * (0.8f - scale) * 0.5f - cardWidth * (0.02f *
+                    fromPosition - 0.02f * fraction * positionCount) - cardHeight * (1 - fraction);
         }
     }
-
-    @Override
-    public void transformInterpolatedAnimation(View view, float fraction, int cardWidth,
-                                               int cardHeight, int fromPosition, int toPosition) {
-    }
 }